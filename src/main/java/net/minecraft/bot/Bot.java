@@ -0,0 +1,282 @@
+package net.minecraft.bot;
+
+import com.google.common.collect.Queues;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.network.Connection;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundPlayerPositionPacket;
+import net.minecraft.network.protocol.game.ServerboundAcceptTeleportationPacket;
+import net.minecraft.network.protocol.game.ServerboundMovePlayerPacket;
+import net.minecraft.network.protocol.game.ServerboundPlayerActionPacket;
+import net.minecraft.network.protocol.game.ServerboundSetCarriedItemPacket;
+import net.minecraft.network.protocol.game.ServerboundSetCreativeModeSlotPacket;
+import net.minecraft.network.protocol.game.ServerboundUseItemOnPacket;
+import net.minecraft.network.protocol.login.ServerboundHelloPacket;
+import net.minecraft.server.level.ClientInformation;
+import net.minecraft.util.Mth;
+import net.minecraft.util.SampleLogger;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.RelativeMovement;
+import net.minecraft.world.entity.player.ChatVisiblity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.GameType;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.Vec3;
+import org.slf4j.Logger;
+
+public class Bot {
+   private static final Logger LOGGER = LogUtils.getLogger();
+   private static final double MOVE_SPEED = 0.25D;
+   private static final double CLIMB_SPEED = 0.5D;
+   private static final double CLIMB_HEIGHT = 8.0D;
+   private final String name;
+   private final Connection connection;
+   private final BotHarness.Settings settings;
+   private final SampleLogger bandwidth;
+   private final Queue<Runnable> tasks = Queues.newConcurrentLinkedQueue();
+   private final Int2LongMap pendingActions = new Int2LongOpenHashMap();
+   private final AtomicLong chunksReceived = new AtomicLong();
+   private final AtomicLong chunkBatches = new AtomicLong();
+   private final AtomicLong chunkBatchNanos = new AtomicLong();
+   private volatile boolean inGame;
+   private volatile boolean disconnected;
+   private volatile float serverTickRate = -1.0F;
+   private GameType gameType = GameType.SURVIVAL;
+   private boolean hasPosition;
+   private double x;
+   private double y;
+   private double z;
+   private float yRot;
+   private float xRot;
+   private double anchorX;
+   private double anchorY;
+   private double anchorZ;
+   private double pathAngle;
+   private int tickCount;
+   private int actionSequence;
+   @Nullable
+   private BlockPos placedBlock;
+   private long actionsAcknowledged;
+   private long actionAckNanos;
+
+   public Bot(String p_295406_, Connection p_295407_, BotHarness.Settings p_295408_, SampleLogger p_295409_) {
+      this.name = p_295406_;
+      this.connection = p_295407_;
+      this.settings = p_295408_;
+      this.bandwidth = p_295409_;
+   }
+
+   public void start(String p_295410_, int p_295411_) {
+      this.connection.initiateServerboundPlayConnection(p_295410_, p_295411_, new BotLoginPacketListener(this, this.connection));
+      this.connection.send(new ServerboundHelloPacket(this.name, UUIDUtil.createOfflinePlayerUUID(this.name)));
+   }
+
+   public String getName() {
+      return this.name;
+   }
+
+   public Connection getConnection() {
+      return this.connection;
+   }
+
+   ClientInformation createClientInformation() {
+      return new ClientInformation("en_us", this.settings.viewDistance(), ChatVisiblity.FULL, true, 0, Player.DEFAULT_MAIN_HAND, false, false);
+   }
+
+   void execute(Runnable p_295412_) {
+      this.tasks.add(p_295412_);
+   }
+
+   void tick() {
+      Runnable runnable;
+      while((runnable = this.tasks.poll()) != null) {
+         runnable.run();
+      }
+
+      if (this.hasPosition) {
+         ++this.tickCount;
+         if (this.gameType.isCreative() || this.gameType == GameType.SPECTATOR) {
+            this.move();
+         }
+
+         if (this.gameType.isCreative() && this.settings.actionInterval() > 0) {
+            this.act();
+         }
+      }
+
+   }
+
+   private void move() {
+      double d0 = this.anchorY + CLIMB_HEIGHT;
+      if (this.y < d0) {
+         this.y = Math.min(d0, this.y + CLIMB_SPEED);
+      } else if (this.settings.pathRadius() > 0.0D) {
+         this.pathAngle += MOVE_SPEED / this.settings.pathRadius();
+         double d1 = this.anchorX - this.settings.pathRadius() + Math.cos(this.pathAngle) * this.settings.pathRadius();
+         double d2 = this.anchorZ + Math.sin(this.pathAngle) * this.settings.pathRadius();
+         this.yRot = (float)(Mth.atan2(d2 - this.z, d1 - this.x) * (double)(180F / (float)Math.PI)) - 90.0F;
+         this.x = d1;
+         this.z = d2;
+      }
+
+      this.connection.send(new ServerboundMovePlayerPacket.PosRot(this.x, this.y, this.z, this.yRot, this.xRot, false));
+   }
+
+   private void act() {
+      if (this.placedBlock != null) {
+         int i = this.nextActionSequence();
+         this.connection.send(new ServerboundPlayerActionPacket(ServerboundPlayerActionPacket.Action.START_DESTROY_BLOCK, this.placedBlock, Direction.UP, i));
+         this.placedBlock = null;
+      } else if (this.tickCount % this.settings.actionInterval() == 0) {
+         BlockPos blockpos = BlockPos.containing(this.x, this.y - 2.0D, this.z);
+         int j = this.nextActionSequence();
+         this.connection.send(new ServerboundUseItemOnPacket(InteractionHand.MAIN_HAND, new BlockHitResult(Vec3.atCenterOf(blockpos), Direction.UP, blockpos, false), j));
+         this.placedBlock = blockpos;
+      }
+
+   }
+
+   private int nextActionSequence() {
+      int i = ++this.actionSequence;
+      this.pendingActions.put(i, Util.getNanos());
+      return i;
+   }
+
+   void onJoin(GameType p_295413_) {
+      this.inGame = true;
+      this.hasPosition = false;
+      this.placedBlock = null;
+      this.setGameType(p_295413_);
+   }
+
+   void setGameType(GameType p_295414_) {
+      this.gameType = p_295414_;
+      if (p_295414_.isCreative()) {
+         this.connection.send(new ServerboundSetCreativeModeSlotPacket(36, new ItemStack(Items.STONE)));
+         this.connection.send(new ServerboundSetCarriedItemPacket(0));
+      }
+
+   }
+
+   void onTeleport(ClientboundPlayerPositionPacket p_295415_) {
+      Set<RelativeMovement> set = p_295415_.getRelativeArguments();
+      this.x = set.contains(RelativeMovement.X) ? this.x + p_295415_.getX() : p_295415_.getX();
+      this.y = set.contains(RelativeMovement.Y) ? this.y + p_295415_.getY() : p_295415_.getY();
+      this.z = set.contains(RelativeMovement.Z) ? this.z + p_295415_.getZ() : p_295415_.getZ();
+      this.yRot = set.contains(RelativeMovement.Y_ROT) ? this.yRot + p_295415_.getYRot() : p_295415_.getYRot();
+      this.xRot = set.contains(RelativeMovement.X_ROT) ? this.xRot + p_295415_.getXRot() : p_295415_.getXRot();
+      if (!this.hasPosition) {
+         this.anchorX = this.x;
+         this.anchorY = this.y;
+         this.anchorZ = this.z;
+         this.pathAngle = 0.0D;
+         this.hasPosition = true;
+      }
+
+      this.connection.send(new ServerboundAcceptTeleportationPacket(p_295415_.getId()));
+      this.connection.send(new ServerboundMovePlayerPacket.PosRot(this.x, this.y, this.z, this.yRot, this.xRot, false));
+   }
+
+   void onActionAcknowledged(int p_295416_, long p_295417_) {
+      ObjectIterator<Int2LongMap.Entry> objectiterator = this.pendingActions.int2LongEntrySet().iterator();
+
+      while(objectiterator.hasNext()) {
+         Int2LongMap.Entry entry = objectiterator.next();
+         if (entry.getIntKey() <= p_295416_) {
+            ++this.actionsAcknowledged;
+            this.actionAckNanos += p_295417_ - entry.getLongValue();
+            objectiterator.remove();
+         }
+      }
+
+   }
+
+   void onReconfigure() {
+      this.inGame = false;
+      this.hasPosition = false;
+      this.placedBlock = null;
+      this.pendingActions.clear();
+   }
+
+   void onChunkReceived() {
+      this.chunksReceived.incrementAndGet();
+   }
+
+   void onChunkBatchReceived(long p_295418_) {
+      this.chunkBatches.incrementAndGet();
+      this.chunkBatchNanos.addAndGet(p_295418_);
+   }
+
+   void onServerTickRate(float p_295419_) {
+      this.serverTickRate = p_295419_;
+   }
+
+   void onDisconnect(Component p_295420_) {
+      if (!this.disconnected) {
+         this.disconnected = true;
+         this.inGame = false;
+         LOGGER.info("Bot {} disconnected: {}", this.name, p_295420_.getString());
+      }
+
+   }
+
+   public boolean isInGame() {
+      return this.inGame;
+   }
+
+   public boolean isDisconnected() {
+      return this.disconnected;
+   }
+
+   public float getServerTickRate() {
+      return this.serverTickRate;
+   }
+
+   public long getChunksReceived() {
+      return this.chunksReceived.get();
+   }
+
+   public long getChunkBatches() {
+      return this.chunkBatches.get();
+   }
+
+   public long getChunkBatchNanos() {
+      return this.chunkBatchNanos.get();
+   }
+
+   public long getActionsAcknowledged() {
+      return this.actionsAcknowledged;
+   }
+
+   public long getActionAckNanos() {
+      return this.actionAckNanos;
+   }
+
+   public long getReceivedBytesPerSecond() {
+      int i = this.bandwidth.size();
+      if (i == 0) {
+         return 0L;
+      } else {
+         long j = 0L;
+
+         for(int k = 0; k < i; ++k) {
+            j += this.bandwidth.get(k);
+         }
+
+         return j * 20L / (long)i;
+      }
+   }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package net.minecraft.bot;
+
+import net.minecraft.network.Connection;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.common.ClientCommonPacketListener;
+import net.minecraft.network.protocol.common.ClientboundCustomPayloadPacket;
+import net.minecraft.network.protocol.common.ClientboundDisconnectPacket;
+import net.minecraft.network.protocol.common.ClientboundKeepAlivePacket;
+import net.minecraft.network.protocol.common.ClientboundPingPacket;
+import net.minecraft.network.protocol.common.ClientboundResourcePackPacket;
+import net.minecraft.network.protocol.common.ClientboundUpdateTagsPacket;
+import net.minecraft.network.protocol.common.ServerboundKeepAlivePacket;
+import net.minecraft.network.protocol.common.ServerboundPongPacket;
+import net.minecraft.network.protocol.common.ServerboundResourcePackPacket;
+
+public abstract class BotCommonPacketListener implements ClientCommonPacketListener {
+   protected final Bot bot;
+   protected final Connection connection;
+
+   protected BotCommonPacketListener(Bot p_295421_, Connection p_295422_) {
+      this.bot = p_295421_;
+      this.connection = p_295422_;
+   }
+
+   public void handleKeepAlive(ClientboundKeepAlivePacket p_295423_) {
+      this.connection.send(new ServerboundKeepAlivePacket(p_295423_.getId()));
+   }
+
+   public void handlePing(ClientboundPingPacket p_295424_) {
+      this.connection.send(new ServerboundPongPacket(p_295424_.getId()));
+   }
+
+   public void handleCustomPayload(ClientboundCustomPayloadPacket p_295425_) {
+   }
+
+   public void handleDisconnect(ClientboundDisconnectPacket p_295426_) {
+      this.connection.disconnect(p_295426_.getReason());
+   }
+
+   public void handleResourcePack(ClientboundResourcePackPacket p_295427_) {
+      this.connection.send(new ServerboundResourcePackPacket(ServerboundResourcePackPacket.Action.ACCEPTED));
+      this.connection.send(new ServerboundResourcePackPacket(ServerboundResourcePackPacket.Action.SUCCESSFULLY_LOADED));
+   }
+
+   public void handleUpdateTags(ClientboundUpdateTagsPacket p_295428_) {
+   }
+
+   public void onDisconnect(Component p_295429_) {
+      this.bot.onDisconnect(p_295429_);
+   }
+
+   public boolean isAcceptingMessages() {
+      return this.connection.isConnected();
+   }
+}
\ No newline at end of file
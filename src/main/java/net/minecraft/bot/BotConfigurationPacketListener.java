@@ -0,0 +1,25 @@
+package net.minecraft.bot;
+
+import net.minecraft.network.Connection;
+import net.minecraft.network.protocol.configuration.ClientConfigurationPacketListener;
+import net.minecraft.network.protocol.configuration.ClientboundFinishConfigurationPacket;
+import net.minecraft.network.protocol.configuration.ClientboundRegistryDataPacket;
+import net.minecraft.network.protocol.configuration.ClientboundUpdateEnabledFeaturesPacket;
+import net.minecraft.network.protocol.configuration.ServerboundFinishConfigurationPacket;
+
+public class BotConfigurationPacketListener extends BotCommonPacketListener implements ClientConfigurationPacketListener {
+   public BotConfigurationPacketListener(Bot p_295438_, Connection p_295439_) {
+      super(p_295438_, p_295439_);
+   }
+
+   public void handleConfigurationFinished(ClientboundFinishConfigurationPacket p_295440_) {
+      this.connection.setListener(new BotGamePacketListener(this.bot, this.connection));
+      this.connection.send(new ServerboundFinishConfigurationPacket());
+   }
+
+   public void handleRegistryData(ClientboundRegistryDataPacket p_295441_) {
+   }
+
+   public void handleEnabledFeatures(ClientboundUpdateEnabledFeaturesPacket p_295442_) {
+   }
+}
\ No newline at end of file
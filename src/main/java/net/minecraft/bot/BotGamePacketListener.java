@@ -0,0 +1,498 @@
+package net.minecraft.bot;
+
+import net.minecraft.Util;
+import net.minecraft.network.Connection;
+import net.minecraft.network.TickablePacketListener;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundAddExperienceOrbPacket;
+import net.minecraft.network.protocol.game.ClientboundAnimatePacket;
+import net.minecraft.network.protocol.game.ClientboundAwardStatsPacket;
+import net.minecraft.network.protocol.game.ClientboundBlockChangedAckPacket;
+import net.minecraft.network.protocol.game.ClientboundBlockDestructionPacket;
+import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundBlockEventPacket;
+import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundBossEventPacket;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.network.protocol.game.ClientboundChangeDifficultyPacket;
+import net.minecraft.network.protocol.game.ClientboundChunkBatchFinishedPacket;
+import net.minecraft.network.protocol.game.ClientboundChunkBatchStartPacket;
+import net.minecraft.network.protocol.game.ClientboundChunksBiomesPacket;
+import net.minecraft.network.protocol.game.ClientboundClearTitlesPacket;
+import net.minecraft.network.protocol.game.ClientboundCommandSuggestionsPacket;
+import net.minecraft.network.protocol.game.ClientboundCommandsPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerClosePacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetDataPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
+import net.minecraft.network.protocol.game.ClientboundCooldownPacket;
+import net.minecraft.network.protocol.game.ClientboundCustomChatCompletionsPacket;
+import net.minecraft.network.protocol.game.ClientboundDamageEventPacket;
+import net.minecraft.network.protocol.game.ClientboundDeleteChatPacket;
+import net.minecraft.network.protocol.game.ClientboundDisguisedChatPacket;
+import net.minecraft.network.protocol.game.ClientboundEntityEventPacket;
+import net.minecraft.network.protocol.game.ClientboundExplodePacket;
+import net.minecraft.network.protocol.game.ClientboundForgetLevelChunkPacket;
+import net.minecraft.network.protocol.game.ClientboundGameEventPacket;
+import net.minecraft.network.protocol.game.ClientboundHorseScreenOpenPacket;
+import net.minecraft.network.protocol.game.ClientboundHurtAnimationPacket;
+import net.minecraft.network.protocol.game.ClientboundInitializeBorderPacket;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
+import net.minecraft.network.protocol.game.ClientboundLevelEventPacket;
+import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
+import net.minecraft.network.protocol.game.ClientboundLightUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundLoginPacket;
+import net.minecraft.network.protocol.game.ClientboundMapItemDataPacket;
+import net.minecraft.network.protocol.game.ClientboundMerchantOffersPacket;
+import net.minecraft.network.protocol.game.ClientboundMoveEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundMoveVehiclePacket;
+import net.minecraft.network.protocol.game.ClientboundOpenBookPacket;
+import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
+import net.minecraft.network.protocol.game.ClientboundOpenSignEditorPacket;
+import net.minecraft.network.protocol.game.ClientboundPlaceGhostRecipePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerAbilitiesPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerChatPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerCombatEndPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerCombatEnterPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerCombatKillPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerLookAtPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerPositionPacket;
+import net.minecraft.network.protocol.game.ClientboundRecipePacket;
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
+import net.minecraft.network.protocol.game.ClientboundRemoveMobEffectPacket;
+import net.minecraft.network.protocol.game.ClientboundRespawnPacket;
+import net.minecraft.network.protocol.game.ClientboundRotateHeadPacket;
+import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundSelectAdvancementsTabPacket;
+import net.minecraft.network.protocol.game.ClientboundServerDataPacket;
+import net.minecraft.network.protocol.game.ClientboundSetActionBarTextPacket;
+import net.minecraft.network.protocol.game.ClientboundSetBorderCenterPacket;
+import net.minecraft.network.protocol.game.ClientboundSetBorderLerpSizePacket;
+import net.minecraft.network.protocol.game.ClientboundSetBorderSizePacket;
+import net.minecraft.network.protocol.game.ClientboundSetBorderWarningDelayPacket;
+import net.minecraft.network.protocol.game.ClientboundSetBorderWarningDistancePacket;
+import net.minecraft.network.protocol.game.ClientboundSetCameraPacket;
+import net.minecraft.network.protocol.game.ClientboundSetCarriedItemPacket;
+import net.minecraft.network.protocol.game.ClientboundSetChunkCacheCenterPacket;
+import net.minecraft.network.protocol.game.ClientboundSetChunkCacheRadiusPacket;
+import net.minecraft.network.protocol.game.ClientboundSetDefaultSpawnPositionPacket;
+import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityLinkPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityMotionPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEquipmentPacket;
+import net.minecraft.network.protocol.game.ClientboundSetExperiencePacket;
+import net.minecraft.network.protocol.game.ClientboundSetHealthPacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetPassengersPacket;
+import net.minecraft.network.protocol.game.ClientboundSetPlayerTeamPacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
+import net.minecraft.network.protocol.game.ClientboundSetSimulationDistancePacket;
+import net.minecraft.network.protocol.game.ClientboundSetSubtitleTextPacket;
+import net.minecraft.network.protocol.game.ClientboundSetTimePacket;
+import net.minecraft.network.protocol.game.ClientboundSetTitleTextPacket;
+import net.minecraft.network.protocol.game.ClientboundSetTitlesAnimationPacket;
+import net.minecraft.network.protocol.game.ClientboundSoundEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundSoundPacket;
+import net.minecraft.network.protocol.game.ClientboundStartConfigurationPacket;
+import net.minecraft.network.protocol.game.ClientboundStopSoundPacket;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.network.protocol.game.ClientboundTabListPacket;
+import net.minecraft.network.protocol.game.ClientboundTagQueryPacket;
+import net.minecraft.network.protocol.game.ClientboundTakeItemEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundTeleportEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundUpdateAdvancementsPacket;
+import net.minecraft.network.protocol.game.ClientboundUpdateAttributesPacket;
+import net.minecraft.network.protocol.game.ClientboundUpdateMobEffectPacket;
+import net.minecraft.network.protocol.game.ClientboundUpdateRecipesPacket;
+import net.minecraft.network.protocol.game.ServerboundChunkBatchReceivedPacket;
+import net.minecraft.network.protocol.game.ServerboundConfigurationAcknowledgedPacket;
+import net.minecraft.network.protocol.status.ClientboundPongResponsePacket;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.GameType;
+
+public class BotGamePacketListener extends BotCommonPacketListener implements ClientGamePacketListener, TickablePacketListener {
+   private static final int MAX_CHUNK_BATCH_SAMPLES = 49;
+   private static final double TARGET_CHUNK_NANOS_PER_TICK = 7000000.0D;
+   private volatile long chunkBatchStartTime = Util.getNanos();
+   private double nanosPerChunk = 2000000.0D;
+   private int chunkBatchSamples = 1;
+   private long lastTimeUpdate;
+   private long lastGameTime;
+
+   public BotGamePacketListener(Bot p_295548_, Connection p_295549_) {
+      super(p_295548_, p_295549_);
+   }
+
+   public void handleAddEntity(ClientboundAddEntityPacket p_295443_) {
+   }
+
+   public void handleAddExperienceOrb(ClientboundAddExperienceOrbPacket p_295444_) {
+   }
+
+   public void handleAddObjective(ClientboundSetObjectivePacket p_295445_) {
+   }
+
+   public void handleAnimate(ClientboundAnimatePacket p_295446_) {
+   }
+
+   public void handleHurtAnimation(ClientboundHurtAnimationPacket p_295447_) {
+   }
+
+   public void handleAwardStats(ClientboundAwardStatsPacket p_295448_) {
+   }
+
+   public void handleAddOrRemoveRecipes(ClientboundRecipePacket p_295449_) {
+   }
+
+   public void handleBlockDestruction(ClientboundBlockDestructionPacket p_295450_) {
+   }
+
+   public void handleOpenSignEditor(ClientboundOpenSignEditorPacket p_295451_) {
+   }
+
+   public void handleBlockEntityData(ClientboundBlockEntityDataPacket p_295452_) {
+   }
+
+   public void handleBlockEvent(ClientboundBlockEventPacket p_295453_) {
+   }
+
+   public void handleBlockUpdate(ClientboundBlockUpdatePacket p_295454_) {
+   }
+
+   public void handleSystemChat(ClientboundSystemChatPacket p_295455_) {
+   }
+
+   public void handlePlayerChat(ClientboundPlayerChatPacket p_295456_) {
+   }
+
+   public void handleDisguisedChat(ClientboundDisguisedChatPacket p_295457_) {
+   }
+
+   public void handleDeleteChat(ClientboundDeleteChatPacket p_295458_) {
+   }
+
+   public void handleChunkBlocksUpdate(ClientboundSectionBlocksUpdatePacket p_295459_) {
+   }
+
+   public void handleMapItemData(ClientboundMapItemDataPacket p_295460_) {
+   }
+
+   public void handleContainerClose(ClientboundContainerClosePacket p_295461_) {
+   }
+
+   public void handleContainerContent(ClientboundContainerSetContentPacket p_295462_) {
+   }
+
+   public void handleHorseScreenOpen(ClientboundHorseScreenOpenPacket p_295463_) {
+   }
+
+   public void handleContainerSetData(ClientboundContainerSetDataPacket p_295464_) {
+   }
+
+   public void handleContainerSetSlot(ClientboundContainerSetSlotPacket p_295465_) {
+   }
+
+   public void handleEntityEvent(ClientboundEntityEventPacket p_295466_) {
+   }
+
+   public void handleEntityLinkPacket(ClientboundSetEntityLinkPacket p_295467_) {
+   }
+
+   public void handleSetEntityPassengersPacket(ClientboundSetPassengersPacket p_295468_) {
+   }
+
+   public void handleExplosion(ClientboundExplodePacket p_295469_) {
+   }
+
+   public void handleGameEvent(ClientboundGameEventPacket p_295470_) {
+      if (p_295470_.getEvent() == ClientboundGameEventPacket.CHANGE_GAME_MODE) {
+         GameType gametype = GameType.byId(Mth.floor(p_295470_.getParam() + 0.5F));
+         this.bot.execute(() -> {
+            this.bot.setGameType(gametype);
+         });
+      }
+
+   }
+
+   public void handleLevelChunkWithLight(ClientboundLevelChunkWithLightPacket p_295471_) {
+      this.bot.onChunkReceived();
+   }
+
+   public void handleChunksBiomes(ClientboundChunksBiomesPacket p_295472_) {
+   }
+
+   public void handleForgetLevelChunk(ClientboundForgetLevelChunkPacket p_295473_) {
+   }
+
+   public void handleLevelEvent(ClientboundLevelEventPacket p_295474_) {
+   }
+
+   public void handleLogin(ClientboundLoginPacket p_295475_) {
+      GameType gametype = p_295475_.commonPlayerSpawnInfo().gameType();
+      this.bot.execute(() -> {
+         this.bot.onJoin(gametype);
+      });
+   }
+
+   public void handleMoveEntity(ClientboundMoveEntityPacket p_295476_) {
+   }
+
+   public void handleMovePlayer(ClientboundPlayerPositionPacket p_295477_) {
+      this.bot.execute(() -> {
+         this.bot.onTeleport(p_295477_);
+      });
+   }
+
+   public void handleParticleEvent(ClientboundLevelParticlesPacket p_295478_) {
+   }
+
+   public void handlePlayerAbilities(ClientboundPlayerAbilitiesPacket p_295479_) {
+   }
+
+   public void handlePlayerInfoRemove(ClientboundPlayerInfoRemovePacket p_295480_) {
+   }
+
+   public void handlePlayerInfoUpdate(ClientboundPlayerInfoUpdatePacket p_295481_) {
+   }
+
+   public void handleRemoveEntities(ClientboundRemoveEntitiesPacket p_295482_) {
+   }
+
+   public void handleRemoveMobEffect(ClientboundRemoveMobEffectPacket p_295483_) {
+   }
+
+   public void handleRespawn(ClientboundRespawnPacket p_295484_) {
+      GameType gametype = p_295484_.commonPlayerSpawnInfo().gameType();
+      this.bot.execute(() -> {
+         this.bot.onJoin(gametype);
+      });
+   }
+
+   public void handleRotateMob(ClientboundRotateHeadPacket p_295485_) {
+   }
+
+   public void handleSetCarriedItem(ClientboundSetCarriedItemPacket p_295486_) {
+   }
+
+   public void handleSetDisplayObjective(ClientboundSetDisplayObjectivePacket p_295487_) {
+   }
+
+   public void handleSetEntityData(ClientboundSetEntityDataPacket p_295488_) {
+   }
+
+   public void handleSetEntityMotion(ClientboundSetEntityMotionPacket p_295489_) {
+   }
+
+   public void handleSetEquipment(ClientboundSetEquipmentPacket p_295490_) {
+   }
+
+   public void handleSetExperience(ClientboundSetExperiencePacket p_295491_) {
+   }
+
+   public void handleSetHealth(ClientboundSetHealthPacket p_295492_) {
+   }
+
+   public void handleSetPlayerTeamPacket(ClientboundSetPlayerTeamPacket p_295493_) {
+   }
+
+   public void handleSetScore(ClientboundSetScorePacket p_295494_) {
+   }
+
+   public void handleSetSpawn(ClientboundSetDefaultSpawnPositionPacket p_295495_) {
+   }
+
+   public void handleSetTime(ClientboundSetTimePacket p_295496_) {
+      long i = Util.getNanos();
+      long j = p_295496_.getGameTime();
+      if (this.lastTimeUpdate != 0L && i > this.lastTimeUpdate) {
+         this.bot.onServerTickRate((float)((double)(j - this.lastGameTime) * 1.0E9D / (double)(i - this.lastTimeUpdate)));
+      }
+
+      this.lastTimeUpdate = i;
+      this.lastGameTime = j;
+   }
+
+   public void handleSoundEvent(ClientboundSoundPacket p_295497_) {
+   }
+
+   public void handleSoundEntityEvent(ClientboundSoundEntityPacket p_295498_) {
+   }
+
+   public void handleTakeItemEntity(ClientboundTakeItemEntityPacket p_295499_) {
+   }
+
+   public void handleTeleportEntity(ClientboundTeleportEntityPacket p_295500_) {
+   }
+
+   public void handleUpdateAttributes(ClientboundUpdateAttributesPacket p_295501_) {
+   }
+
+   public void handleUpdateMobEffect(ClientboundUpdateMobEffectPacket p_295502_) {
+   }
+
+   public void handlePlayerCombatEnd(ClientboundPlayerCombatEndPacket p_295503_) {
+   }
+
+   public void handlePlayerCombatEnter(ClientboundPlayerCombatEnterPacket p_295504_) {
+   }
+
+   public void handlePlayerCombatKill(ClientboundPlayerCombatKillPacket p_295505_) {
+   }
+
+   public void handleChangeDifficulty(ClientboundChangeDifficultyPacket p_295506_) {
+   }
+
+   public void handleSetCamera(ClientboundSetCameraPacket p_295507_) {
+   }
+
+   public void handleInitializeBorder(ClientboundInitializeBorderPacket p_295508_) {
+   }
+
+   public void handleSetBorderLerpSize(ClientboundSetBorderLerpSizePacket p_295509_) {
+   }
+
+   public void handleSetBorderSize(ClientboundSetBorderSizePacket p_295510_) {
+   }
+
+   public void handleSetBorderWarningDelay(ClientboundSetBorderWarningDelayPacket p_295511_) {
+   }
+
+   public void handleSetBorderWarningDistance(ClientboundSetBorderWarningDistancePacket p_295512_) {
+   }
+
+   public void handleSetBorderCenter(ClientboundSetBorderCenterPacket p_295513_) {
+   }
+
+   public void handleTabListCustomisation(ClientboundTabListPacket p_295514_) {
+   }
+
+   public void handleBossUpdate(ClientboundBossEventPacket p_295515_) {
+   }
+
+   public void handleItemCooldown(ClientboundCooldownPacket p_295516_) {
+   }
+
+   public void handleMoveVehicle(ClientboundMoveVehiclePacket p_295517_) {
+   }
+
+   public void handleUpdateAdvancementsPacket(ClientboundUpdateAdvancementsPacket p_295518_) {
+   }
+
+   public void handleSelectAdvancementsTab(ClientboundSelectAdvancementsTabPacket p_295519_) {
+   }
+
+   public void handlePlaceRecipe(ClientboundPlaceGhostRecipePacket p_295520_) {
+   }
+
+   public void handleCommands(ClientboundCommandsPacket p_295521_) {
+   }
+
+   public void handleStopSoundEvent(ClientboundStopSoundPacket p_295522_) {
+   }
+
+   public void handleCommandSuggestions(ClientboundCommandSuggestionsPacket p_295523_) {
+   }
+
+   public void handleUpdateRecipes(ClientboundUpdateRecipesPacket p_295524_) {
+   }
+
+   public void handleLookAt(ClientboundPlayerLookAtPacket p_295525_) {
+   }
+
+   public void handleTagQueryPacket(ClientboundTagQueryPacket p_295526_) {
+   }
+
+   public void handleLightUpdatePacket(ClientboundLightUpdatePacket p_295527_) {
+   }
+
+   public void handleOpenBook(ClientboundOpenBookPacket p_295528_) {
+   }
+
+   public void handleOpenScreen(ClientboundOpenScreenPacket p_295529_) {
+   }
+
+   public void handleMerchantOffers(ClientboundMerchantOffersPacket p_295530_) {
+   }
+
+   public void handleSetChunkCacheRadius(ClientboundSetChunkCacheRadiusPacket p_295531_) {
+   }
+
+   public void handleSetSimulationDistance(ClientboundSetSimulationDistancePacket p_295532_) {
+   }
+
+   public void handleSetChunkCacheCenter(ClientboundSetChunkCacheCenterPacket p_295533_) {
+   }
+
+   public void handleBlockChangedAck(ClientboundBlockChangedAckPacket p_295534_) {
+      long i = Util.getNanos();
+      this.bot.execute(() -> {
+         this.bot.onActionAcknowledged(p_295534_.sequence(), i);
+      });
+   }
+
+   public void setActionBarText(ClientboundSetActionBarTextPacket p_295535_) {
+   }
+
+   public void setSubtitleText(ClientboundSetSubtitleTextPacket p_295536_) {
+   }
+
+   public void setTitleText(ClientboundSetTitleTextPacket p_295537_) {
+   }
+
+   public void setTitlesAnimation(ClientboundSetTitlesAnimationPacket p_295538_) {
+   }
+
+   public void handleTitlesClear(ClientboundClearTitlesPacket p_295539_) {
+   }
+
+   public void handleServerData(ClientboundServerDataPacket p_295540_) {
+   }
+
+   public void handleCustomChatCompletions(ClientboundCustomChatCompletionsPacket p_295541_) {
+   }
+
+   public void handleBundlePacket(ClientboundBundlePacket p_295542_) {
+      for(Packet<ClientGamePacketListener> packet : p_295542_.subPackets()) {
+         packet.handle(this);
+      }
+
+   }
+
+   public void handleDamageEvent(ClientboundDamageEventPacket p_295543_) {
+   }
+
+   public void handleConfigurationStart(ClientboundStartConfigurationPacket p_295544_) {
+      this.bot.execute(this.bot::onReconfigure);
+      this.connection.setListener(new BotConfigurationPacketListener(this.bot, this.connection));
+      this.connection.send(new ServerboundConfigurationAcknowledgedPacket());
+   }
+
+   public void handleChunkBatchStart(ClientboundChunkBatchStartPacket p_295545_) {
+      this.chunkBatchStartTime = Util.getNanos();
+   }
+
+   public void handleChunkBatchFinished(ClientboundChunkBatchFinishedPacket p_295546_) {
+      long i = Util.getNanos() - this.chunkBatchStartTime;
+      int j = p_295546_.batchSize();
+      if (j > 0) {
+         double d0 = Mth.clamp((double)i / (double)j, this.nanosPerChunk / 3.0D, this.nanosPerChunk * 3.0D);
+         this.nanosPerChunk = (this.nanosPerChunk * (double)this.chunkBatchSamples + d0) / (double)(this.chunkBatchSamples + 1);
+         this.chunkBatchSamples = Math.min(MAX_CHUNK_BATCH_SAMPLES, this.chunkBatchSamples + 1);
+      }
+
+      this.bot.onChunkBatchReceived(i);
+      this.connection.send(new ServerboundChunkBatchReceivedPacket((float)(TARGET_CHUNK_NANOS_PER_TICK / this.nanosPerChunk)));
+   }
+
+   public void handlePongResponse(ClientboundPongResponsePacket p_295547_) {
+   }
+
+   public void tick() {
+      this.bot.tick();
+   }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package net.minecraft.bot;
+
+import com.google.common.collect.Lists;
+import com.mojang.logging.LogUtils;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import net.minecraft.SharedConstants;
+import net.minecraft.Util;
+import net.minecraft.network.Connection;
+import net.minecraft.network.chat.Component;
+import net.minecraft.obfuscate.DontObfuscate;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.util.SampleLogger;
+import org.slf4j.Logger;
+
+public class BotHarness implements Runnable {
+   private static final Logger LOGGER = LogUtils.getLogger();
+   public static final String BRAND = "bot";
+   private static final long NANOS_PER_TICK = 50000000L;
+   private static final Component FINISHED = Component.literal("Bot run finished");
+   private final BotHarness.Connector connector;
+   private final String host;
+   private final int port;
+   private final BotHarness.Settings settings;
+   private final List<Bot> bots = Lists.newArrayList();
+   private volatile boolean running = true;
+   @Nullable
+   private Thread thread;
+   private long lastReportTime;
+   private long lastChunksReceived;
+   private long lastChunkBatches;
+   private long lastChunkBatchNanos;
+   private long lastActionsAcknowledged;
+   private long lastActionAckNanos;
+
+   public BotHarness(BotHarness.Connector p_295550_, String p_295551_, int p_295552_, BotHarness.Settings p_295553_) {
+      this.connector = p_295550_;
+      this.host = p_295551_;
+      this.port = p_295552_;
+      this.settings = p_295553_;
+   }
+
+   public static BotHarness remote(InetSocketAddress p_295557_, BotHarness.Settings p_295558_) {
+      return new BotHarness((p_295559_) -> {
+         return Connection.connectToServer(p_295557_, false, p_295559_);
+      }, p_295557_.getHostString(), p_295557_.getPort(), p_295558_);
+   }
+
+   public Thread start() {
+      Thread thread = new Thread(this, "Bot Harness");
+      thread.setDaemon(true);
+      thread.setUncaughtExceptionHandler((p_295560_, p_295561_) -> {
+         LOGGER.error("Bot harness crashed", p_295561_);
+      });
+      thread.start();
+      this.thread = thread;
+      return thread;
+   }
+
+   public void stop() {
+      this.running = false;
+   }
+
+   public boolean isRunning() {
+      return this.running && this.thread != null && this.thread.isAlive();
+   }
+
+   public void run() {
+      LOGGER.info("Starting {} bots against {}:{}", this.settings.count(), this.host, this.port);
+      long i = Util.getNanos();
+      long j = i + (long)this.settings.durationSeconds() * 1000000000L;
+      long k = i;
+      int l = 0;
+      this.lastReportTime = i;
+
+      while(this.running && (this.settings.durationSeconds() <= 0 || Util.getNanos() < j)) {
+         if (this.bots.size() < this.settings.count() && l++ % Math.max(1, this.settings.joinInterval()) == 0) {
+            this.join(this.settings.namePrefix() + this.bots.size());
+         }
+
+         for(Bot bot : this.bots) {
+            if (!bot.isDisconnected()) {
+               bot.getConnection().tick();
+            }
+         }
+
+         long i1 = Util.getNanos();
+         if (i1 - this.lastReportTime >= (long)this.settings.reportSeconds() * 1000000000L) {
+            this.report(i1);
+         }
+
+         k += NANOS_PER_TICK;
+         long j1 = k - Util.getNanos();
+         if (j1 > 0L) {
+            LockSupport.parkNanos(j1);
+         } else {
+            k = Util.getNanos();
+         }
+      }
+
+      this.report(Util.getNanos());
+
+      for(Bot bot1 : this.bots) {
+         if (!bot1.isDisconnected()) {
+            bot1.getConnection().disconnect(FINISHED);
+            bot1.getConnection().handleDisconnection();
+         }
+      }
+
+      LOGGER.info("Bot run finished after {}s", (Util.getNanos() - i) / 1000000000L);
+   }
+
+   private void join(String p_295562_) {
+      SampleLogger samplelogger = new SampleLogger();
+
+      try {
+         Connection connection = this.connector.connect(samplelogger);
+         Bot bot = new Bot(p_295562_, connection, this.settings, samplelogger);
+         this.bots.add(bot);
+         bot.start(this.host, this.port);
+      } catch (Exception exception) {
+         LOGGER.warn("Bot {} failed to connect", p_295562_, exception);
+         this.running = false;
+      }
+
+   }
+
+   private void report(long p_295563_) {
+      double d0 = (double)(p_295563_ - this.lastReportTime) / 1.0E9D;
+      if (!(d0 <= 0.0D)) {
+         int i = 0;
+         int j = 0;
+         int k = 0;
+         float f = 0.0F;
+         int l = 0;
+         long i1 = 0L;
+         long j1 = 0L;
+         long k1 = 0L;
+         long l1 = 0L;
+         long i2 = 0L;
+         long j2 = 0L;
+
+         for(Bot bot : this.bots) {
+            if (bot.isDisconnected()) {
+               ++k;
+            } else if (bot.isInGame()) {
+               ++i;
+            } else {
+               ++j;
+            }
+
+            if (!bot.isDisconnected() && bot.getServerTickRate() >= 0.0F) {
+               f += bot.getServerTickRate();
+               ++l;
+            }
+
+            i1 += bot.getChunksReceived();
+            j1 += bot.getChunkBatches();
+            k1 += bot.getChunkBatchNanos();
+            l1 += bot.getActionsAcknowledged();
+            i2 += bot.getActionAckNanos();
+            j2 += bot.getReceivedBytesPerSecond();
+         }
+
+         long k2 = j1 - this.lastChunkBatches;
+         long l2 = l1 - this.lastActionsAcknowledged;
+         LOGGER.info("Bots: {} in game, {} connecting, {} disconnected | server {} TPS | chunks {}/s, batch {} ms | actions {}/s, ack {} ms | received {} KiB/s", i, j, k, l > 0 ? String.format("%.1f", f / (float)l) : "?", String.format("%.1f", (double)(i1 - this.lastChunksReceived) / d0), k2 > 0L ? String.format("%.2f", (double)(k1 - this.lastChunkBatchNanos) / (double)k2 / 1000000.0D) : "-", String.format("%.1f", (double)l2 / d0), l2 > 0L ? String.format("%.2f", (double)(i2 - this.lastActionAckNanos) / (double)l2 / 1000000.0D) : "-", j2 / 1024L);
+         this.lastReportTime = p_295563_;
+         this.lastChunksReceived = i1;
+         this.lastChunkBatches = j1;
+         this.lastChunkBatchNanos = k1;
+         this.lastActionsAcknowledged = l1;
+         this.lastActionAckNanos = i2;
+      }
+   }
+
+   @DontObfuscate
+   public static void main(String[] p_295564_) {
+      SharedConstants.tryDetectVersion();
+      OptionParser optionparser = new OptionParser();
+      OptionSpec<Void> optionspec = optionparser.accepts("help", "Show the help menu").forHelp();
+      OptionSpec<String> optionspec1 = optionparser.accepts("host", "Server host").withRequiredArg().defaultsTo("localhost");
+      OptionSpec<Integer> optionspec2 = optionparser.accepts("port", "Server port").withRequiredArg().ofType(Integer.class).defaultsTo(25565);
+      OptionSpec<Integer> optionspec3 = optionparser.accepts("count", "Number of bots").withRequiredArg().ofType(Integer.class).defaultsTo(10);
+      OptionSpec<String> optionspec4 = optionparser.accepts("name", "Bot name prefix").withRequiredArg().defaultsTo("Bot");
+      OptionSpec<Integer> optionspec5 = optionparser.accepts("duration", "Run time in seconds, 0 to run until stopped").withRequiredArg().ofType(Integer.class).defaultsTo(300);
+      OptionSpec<Integer> optionspec6 = optionparser.accepts("joinInterval", "Ticks between bot joins").withRequiredArg().ofType(Integer.class).defaultsTo(10);
+      OptionSpec<Integer> optionspec7 = optionparser.accepts("viewDistance", "Requested view distance").withRequiredArg().ofType(Integer.class).defaultsTo(10);
+      OptionSpec<Double> optionspec8 = optionparser.accepts("pathRadius", "Radius of the circle each bot flies, 0 to hover").withRequiredArg().ofType(Double.class).defaultsTo(32.0D);
+      OptionSpec<Integer> optionspec9 = optionparser.accepts("actionInterval", "Ticks between block placements, 0 to disable").withRequiredArg().ofType(Integer.class).defaultsTo(20);
+      OptionSpec<Integer> optionspec10 = optionparser.accepts("reportInterval", "Seconds between reports").withRequiredArg().ofType(Integer.class).defaultsTo(5);
+      OptionSet optionset = optionparser.parse(p_295564_);
+      if (optionset.has(optionspec)) {
+         try {
+            optionparser.printHelpOn(System.out);
+         } catch (Exception exception) {
+            LOGGER.error("Failed to print help", exception);
+         }
+
+      } else {
+         Bootstrap.bootStrap();
+         Bootstrap.validate();
+         BotHarness.Settings botharness$settings = new BotHarness.Settings(optionset.valueOf(optionspec3), optionset.valueOf(optionspec4), optionset.valueOf(optionspec5), optionset.valueOf(optionspec6), optionset.valueOf(optionspec7), optionset.valueOf(optionspec8), optionset.valueOf(optionspec9), Math.max(1, optionset.valueOf(optionspec10)));
+         remote(new InetSocketAddress(optionset.valueOf(optionspec1), optionset.valueOf(optionspec2)), botharness$settings).run();
+      }
+   }
+
+   @FunctionalInterface
+   public interface Connector {
+      Connection connect(SampleLogger p_295565_) throws Exception;
+   }
+
+   public static record Settings(int count, String namePrefix, int durationSeconds, int joinInterval, int viewDistance, double pathRadius, int actionInterval, int reportSeconds) {
+   }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package net.minecraft.bot;
+
+import net.minecraft.network.Connection;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.common.ServerboundClientInformationPacket;
+import net.minecraft.network.protocol.common.ServerboundCustomPayloadPacket;
+import net.minecraft.network.protocol.common.custom.BrandPayload;
+import net.minecraft.network.protocol.login.ClientLoginPacketListener;
+import net.minecraft.network.protocol.login.ClientboundCustomQueryPacket;
+import net.minecraft.network.protocol.login.ClientboundGameProfilePacket;
+import net.minecraft.network.protocol.login.ClientboundHelloPacket;
+import net.minecraft.network.protocol.login.ClientboundLoginCompressionPacket;
+import net.minecraft.network.protocol.login.ClientboundLoginDisconnectPacket;
+import net.minecraft.network.protocol.login.ServerboundCustomQueryAnswerPacket;
+import net.minecraft.network.protocol.login.ServerboundLoginAcknowledgedPacket;
+import net.minecraft.network.protocol.login.custom.CustomQueryAnswerPayload;
+
+public class BotLoginPacketListener implements ClientLoginPacketListener {
+   private static final Component ONLINE_MODE = Component.literal("Bots can only join servers with online-mode=false");
+   private final Bot bot;
+   private final Connection connection;
+
+   public BotLoginPacketListener(Bot p_295430_, Connection p_295431_) {
+      this.bot = p_295430_;
+      this.connection = p_295431_;
+   }
+
+   public void handleHello(ClientboundHelloPacket p_295432_) {
+      this.connection.disconnect(ONLINE_MODE);
+   }
+
+   public void handleGameProfile(ClientboundGameProfilePacket p_295433_) {
+      this.connection.send(new ServerboundLoginAcknowledgedPacket());
+      this.connection.setListener(new BotConfigurationPacketListener(this.bot, this.connection));
+      this.connection.send(new ServerboundCustomPayloadPacket(new BrandPayload(BotHarness.BRAND)));
+      this.connection.send(new ServerboundClientInformationPacket(this.bot.createClientInformation()));
+   }
+
+   public void handleDisconnect(ClientboundLoginDisconnectPacket p_295434_) {
+      this.connection.disconnect(p_295434_.getReason());
+   }
+
+   public void handleCompression(ClientboundLoginCompressionPacket p_295435_) {
+      if (!this.connection.isMemoryConnection()) {
+         this.connection.setupCompression(p_295435_.getCompressionThreshold(), false);
+      }
+
+   }
+
+   public void handleCustomQuery(ClientboundCustomQueryPacket p_295436_) {
+      this.connection.send(new ServerboundCustomQueryAnswerPacket(p_295436_.transactionId(), (CustomQueryAnswerPayload)null));
+   }
+
+   public void onDisconnect(Component p_295437_) {
+      this.bot.onDisconnect(p_295437_);
+   }
+
+   public boolean isAcceptingMessages() {
+      return this.connection.isConnected();
+   }
+}
\ No newline at end of file
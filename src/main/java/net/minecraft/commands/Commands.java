@@ -45,6 +45,7 @@ import net.minecraft.server.commands.BanIpCommands;
 import net.minecraft.server.commands.BanListCommands;
 import net.minecraft.server.commands.BanPlayerCommands;
 import net.minecraft.server.commands.BossBarCommands;
+import net.minecraft.server.commands.BotsCommand;
 import net.minecraft.server.commands.ClearInventoryCommands;
 import net.minecraft.server.commands.CloneCommands;
 import net.minecraft.server.commands.DamageCommand;
@@ -197,6 +198,7 @@ public class Commands {
       }
 
       if (SharedConstants.IS_RUNNING_IN_IDE) {
+         BotsCommand.register(this.dispatcher);
          TestCommand.register(this.dispatcher);
          SpawnArmorTrimsCommand.register(this.dispatcher);
          if (p_230943_.includeDedicated) {
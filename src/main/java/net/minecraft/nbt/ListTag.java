@@ -5,9 +5,14 @@ import com.google.common.collect.Lists;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 public class ListTag extends CollectionTag<Tag> {
    private static final int SELF_SIZE_IN_BYTES = 37;
@@ -33,14 +38,44 @@ public class ListTag extends CollectionTag<Tag> {
             throw new RuntimeException("Missing type on ListTag");
          } else {
             p_301694_.accountBytes(4L, (long)i);
-            TagType<?> tagtype = TagTypes.getType(b0);
-            List<Tag> list = Lists.newArrayListWithCapacity(i);
+            switch (b0) {
+               case 3:
+                  p_301694_.accountBytes(12L, (long)i);
+                  int[] aint = new int[i];
 
-            for(int j = 0; j < i; ++j) {
-               list.add(tagtype.load(p_301758_, p_301694_));
-            }
+                  for(int i1 = 0; i1 < i; ++i1) {
+                     aint[i1] = p_301758_.readInt();
+                  }
+
+                  return new ListTag(new ListTag.IntList(aint, i), b0);
+               case 5:
+                  p_301694_.accountBytes(12L, (long)i);
+                  float[] afloat = new float[i];
+
+                  for(int l = 0; l < i; ++l) {
+                     afloat[l] = p_301758_.readFloat();
+                  }
+
+                  return new ListTag(new ListTag.FloatList(afloat, i), b0);
+               case 6:
+                  p_301694_.accountBytes(16L, (long)i);
+                  double[] adouble = new double[i];
+
+                  for(int k = 0; k < i; ++k) {
+                     adouble[k] = p_301758_.readDouble();
+                  }
 
-            return new ListTag(list, b0);
+                  return new ListTag(new ListTag.DoubleList(adouble, i), b0);
+               default:
+                  TagType<?> tagtype = TagTypes.getType(b0);
+                  List<Tag> list = Lists.newArrayListWithCapacity(i);
+
+                  for(int j = 0; j < i; ++j) {
+                     list.add(tagtype.load(p_301758_, p_301694_));
+                  }
+
+                  return new ListTag(list, b0);
+            }
          }
       }
 
@@ -129,7 +164,7 @@ public class ListTag extends CollectionTag<Tag> {
          return "TAG_List";
       }
    };
-   private final List<Tag> list;
+   private List<Tag> list;
    private byte type;
 
    ListTag(List<Tag> p_128721_, byte p_128722_) {
@@ -141,18 +176,48 @@ public class ListTag extends CollectionTag<Tag> {
       this(Lists.newArrayList(), (byte)0);
    }
 
+   public static ListTag ofDoubles(double... p_295151_) {
+      return new ListTag(new ListTag.DoubleList((double[])p_295151_.clone(), p_295151_.length), (byte)(p_295151_.length == 0 ? 0 : 6));
+   }
+
+   public static ListTag ofFloats(float... p_295152_) {
+      return new ListTag(new ListTag.FloatList((float[])p_295152_.clone(), p_295152_.length), (byte)(p_295152_.length == 0 ? 0 : 5));
+   }
+
+   public static ListTag ofInts(int... p_295153_) {
+      return new ListTag(new ListTag.IntList((int[])p_295153_.clone(), p_295153_.length), (byte)(p_295153_.length == 0 ? 0 : 3));
+   }
+
+   static ListTag forElementType(byte p_295154_) {
+      switch (p_295154_) {
+         case 3:
+            return ofInts();
+         case 5:
+            return ofFloats();
+         case 6:
+            return ofDoubles();
+         default:
+            return new ListTag();
+      }
+   }
+
    public void write(DataOutput p_128734_) throws IOException {
       if (this.list.isEmpty()) {
          this.type = 0;
+      } else if (this.list instanceof ListTag.NumericList listtag$numericlist) {
+         this.type = listtag$numericlist.getElementType();
       } else {
          this.type = this.list.get(0).getId();
       }
 
       p_128734_.writeByte(this.type);
       p_128734_.writeInt(this.list.size());
-
-      for(Tag tag : this.list) {
-         tag.write(p_128734_);
+      if (this.list instanceof ListTag.NumericList listtag$numericlist1) {
+         listtag$numericlist1.write(p_128734_);
+      } else {
+         for(Tag tag : this.list) {
+            tag.write(p_128734_);
+         }
       }
 
    }
@@ -232,6 +297,10 @@ public class ListTag extends CollectionTag<Tag> {
 
    public int getInt(int p_128764_) {
       if (p_128764_ >= 0 && p_128764_ < this.list.size()) {
+         if (this.list instanceof ListTag.IntList listtag$intlist) {
+            return listtag$intlist.values[p_128764_];
+         }
+
          Tag tag = this.list.get(p_128764_);
          if (tag.getId() == 3) {
             return ((IntTag)tag).getAsInt();
@@ -265,6 +334,10 @@ public class ListTag extends CollectionTag<Tag> {
 
    public double getDouble(int p_128773_) {
       if (p_128773_ >= 0 && p_128773_ < this.list.size()) {
+         if (this.list instanceof ListTag.DoubleList listtag$doublelist) {
+            return listtag$doublelist.values[p_128773_];
+         }
+
          Tag tag = this.list.get(p_128773_);
          if (tag.getId() == 6) {
             return ((DoubleTag)tag).getAsDouble();
@@ -276,6 +349,10 @@ public class ListTag extends CollectionTag<Tag> {
 
    public float getFloat(int p_128776_) {
       if (p_128776_ >= 0 && p_128776_ < this.list.size()) {
+         if (this.list instanceof ListTag.FloatList listtag$floatlist) {
+            return listtag$floatlist.values[p_128776_];
+         }
+
          Tag tag = this.list.get(p_128776_);
          if (tag.getId() == 5) {
             return ((FloatTag)tag).getAsFloat();
@@ -340,6 +417,10 @@ public class ListTag extends CollectionTag<Tag> {
          return false;
       } else if (this.type == 0) {
          this.type = p_128739_.getId();
+         if (this.list instanceof ListTag.NumericList listtag$numericlist && listtag$numericlist.getElementType() != this.type) {
+            this.list = Lists.newArrayList();
+         }
+
          return true;
       } else {
          return this.type == p_128739_.getId();
@@ -347,6 +428,10 @@ public class ListTag extends CollectionTag<Tag> {
    }
 
    public ListTag copy() {
+      if (this.list instanceof ListTag.NumericList listtag$numericlist) {
+         return new ListTag(listtag$numericlist.copy(), this.type);
+      }
+
       Iterable<Tag> iterable = (Iterable<Tag>)(TagTypes.getType(this.type).isValue() ? this.list : Iterables.transform(this.list, Tag::copy));
       List<Tag> list = Lists.newArrayList(iterable);
       return new ListTag(list, this.type);
@@ -372,6 +457,31 @@ public class ListTag extends CollectionTag<Tag> {
       return this.type;
    }
 
+   @Nullable
+   Stream<Tag> primitiveStream() {
+      if (this.list instanceof ListTag.DoubleList listtag$doublelist) {
+         return Arrays.stream(listtag$doublelist.values, 0, listtag$doublelist.size).mapToObj(DoubleTag::valueOf);
+      } else if (this.list instanceof ListTag.FloatList listtag$floatlist) {
+         float[] afloat = listtag$floatlist.values;
+         return IntStream.range(0, listtag$floatlist.size).mapToObj((p_295587_) -> {
+            return FloatTag.valueOf(afloat[p_295587_]);
+         });
+      } else if (this.list instanceof ListTag.IntList listtag$intlist) {
+         return Arrays.stream(listtag$intlist.values, 0, listtag$intlist.size).mapToObj(IntTag::valueOf);
+      } else {
+         return null;
+      }
+   }
+
+   @Nullable
+   IntStream primitiveIntStream() {
+      if (this.list instanceof ListTag.IntList listtag$intlist) {
+         return Arrays.stream(listtag$intlist.values, 0, listtag$intlist.size);
+      } else {
+         return null;
+      }
+   }
+
    public void clear() {
       this.list.clear();
       this.type = 0;
@@ -408,4 +518,192 @@ public class ListTag extends CollectionTag<Tag> {
             return p_197487_.visitContainerEnd();
       }
    }
-}
\ No newline at end of file
+
+   static class DoubleList extends ListTag.NumericList {
+      double[] values;
+
+      DoubleList(double[] p_295155_, int p_295156_) {
+         super(p_295156_);
+         this.values = p_295155_;
+      }
+
+      public Tag get(int p_295157_) {
+         Objects.checkIndex(p_295157_, this.size);
+         return DoubleTag.valueOf(this.values[p_295157_]);
+      }
+
+      public Tag set(int p_295158_, Tag p_295159_) {
+         Tag tag = this.get(p_295158_);
+         this.values[p_295158_] = ((NumericTag)p_295159_).getAsDouble();
+         return tag;
+      }
+
+      public void add(int p_295160_, Tag p_295161_) {
+         Objects.checkIndex(p_295160_, this.size + 1);
+         if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(this.size * 2, 4));
+         }
+
+         System.arraycopy(this.values, p_295160_, this.values, p_295160_ + 1, this.size - p_295160_);
+         this.values[p_295160_] = ((NumericTag)p_295161_).getAsDouble();
+         ++this.size;
+         ++this.modCount;
+      }
+
+      public Tag remove(int p_295162_) {
+         Tag tag = this.get(p_295162_);
+         System.arraycopy(this.values, p_295162_ + 1, this.values, p_295162_, this.size - p_295162_ - 1);
+         --this.size;
+         ++this.modCount;
+         return tag;
+      }
+
+      byte getElementType() {
+         return 6;
+      }
+
+      void write(DataOutput p_295163_) throws IOException {
+         for(int i = 0; i < this.size; ++i) {
+            p_295163_.writeDouble(this.values[i]);
+         }
+
+      }
+
+      ListTag.NumericList copy() {
+         return new ListTag.DoubleList(Arrays.copyOf(this.values, this.size), this.size);
+      }
+   }
+
+   static class FloatList extends ListTag.NumericList {
+      float[] values;
+
+      FloatList(float[] p_295164_, int p_295165_) {
+         super(p_295165_);
+         this.values = p_295164_;
+      }
+
+      public Tag get(int p_295166_) {
+         Objects.checkIndex(p_295166_, this.size);
+         return FloatTag.valueOf(this.values[p_295166_]);
+      }
+
+      public Tag set(int p_295167_, Tag p_295168_) {
+         Tag tag = this.get(p_295167_);
+         this.values[p_295167_] = ((NumericTag)p_295168_).getAsFloat();
+         return tag;
+      }
+
+      public void add(int p_295169_, Tag p_295170_) {
+         Objects.checkIndex(p_295169_, this.size + 1);
+         if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(this.size * 2, 4));
+         }
+
+         System.arraycopy(this.values, p_295169_, this.values, p_295169_ + 1, this.size - p_295169_);
+         this.values[p_295169_] = ((NumericTag)p_295170_).getAsFloat();
+         ++this.size;
+         ++this.modCount;
+      }
+
+      public Tag remove(int p_295171_) {
+         Tag tag = this.get(p_295171_);
+         System.arraycopy(this.values, p_295171_ + 1, this.values, p_295171_, this.size - p_295171_ - 1);
+         --this.size;
+         ++this.modCount;
+         return tag;
+      }
+
+      byte getElementType() {
+         return 5;
+      }
+
+      void write(DataOutput p_295172_) throws IOException {
+         for(int i = 0; i < this.size; ++i) {
+            p_295172_.writeFloat(this.values[i]);
+         }
+
+      }
+
+      ListTag.NumericList copy() {
+         return new ListTag.FloatList(Arrays.copyOf(this.values, this.size), this.size);
+      }
+   }
+
+   static class IntList extends ListTag.NumericList {
+      int[] values;
+
+      IntList(int[] p_295173_, int p_295174_) {
+         super(p_295174_);
+         this.values = p_295173_;
+      }
+
+      public Tag get(int p_295175_) {
+         Objects.checkIndex(p_295175_, this.size);
+         return IntTag.valueOf(this.values[p_295175_]);
+      }
+
+      public Tag set(int p_295176_, Tag p_295177_) {
+         Tag tag = this.get(p_295176_);
+         this.values[p_295176_] = ((NumericTag)p_295177_).getAsInt();
+         return tag;
+      }
+
+      public void add(int p_295178_, Tag p_295179_) {
+         Objects.checkIndex(p_295178_, this.size + 1);
+         if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(this.size * 2, 4));
+         }
+
+         System.arraycopy(this.values, p_295178_, this.values, p_295178_ + 1, this.size - p_295178_);
+         this.values[p_295178_] = ((NumericTag)p_295179_).getAsInt();
+         ++this.size;
+         ++this.modCount;
+      }
+
+      public Tag remove(int p_295180_) {
+         Tag tag = this.get(p_295180_);
+         System.arraycopy(this.values, p_295180_ + 1, this.values, p_295180_, this.size - p_295180_ - 1);
+         --this.size;
+         ++this.modCount;
+         return tag;
+      }
+
+      byte getElementType() {
+         return 3;
+      }
+
+      void write(DataOutput p_295181_) throws IOException {
+         for(int i = 0; i < this.size; ++i) {
+            p_295181_.writeInt(this.values[i]);
+         }
+
+      }
+
+      ListTag.NumericList copy() {
+         return new ListTag.IntList(Arrays.copyOf(this.values, this.size), this.size);
+      }
+   }
+
+   abstract static class NumericList extends AbstractList<Tag> {
+      protected int size;
+
+      NumericList(int p_295182_) {
+         this.size = p_295182_;
+      }
+
+      public int size() {
+         return this.size;
+      }
+
+      public void clear() {
+         this.size = 0;
+         ++this.modCount;
+      }
+
+      abstract byte getElementType();
+
+      abstract void write(DataOutput p_295183_) throws IOException;
+
+      abstract ListTag.NumericList copy();
+   }
+}
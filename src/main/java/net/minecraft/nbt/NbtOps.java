@@ -9,6 +9,8 @@ import com.mojang.serialization.DynamicOps;
 import com.mojang.serialization.MapLike;
 import com.mojang.serialization.RecordBuilder;
 import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import java.nio.ByteBuffer;
@@ -274,6 +276,11 @@ public class NbtOps implements DynamicOps<Tag> {
 
    public DataResult<Stream<Tag>> getStream(Tag p_129108_) {
       if (p_129108_ instanceof ListTag listtag) {
+         Stream<Tag> stream = listtag.primitiveStream();
+         if (stream != null) {
+            return DataResult.success(stream);
+         }
+
          return listtag.getElementType() == 10 ? DataResult.success(listtag.stream().map((p_248049_) -> {
             return tryUnwrap((CompoundTag)p_248049_);
          })) : DataResult.success(listtag.stream());
@@ -320,6 +327,13 @@ public class NbtOps implements DynamicOps<Tag> {
       if (p_129134_ instanceof IntArrayTag intarraytag) {
          return DataResult.success(Arrays.stream(intarraytag.getAsIntArray()));
       } else {
+         if (p_129134_ instanceof ListTag listtag) {
+            IntStream intstream = listtag.primitiveIntStream();
+            if (intstream != null) {
+               return DataResult.success(intstream);
+            }
+         }
+
          return DynamicOps.super.getIntStream(p_129134_);
       }
    }
@@ -383,6 +397,12 @@ public class NbtOps implements DynamicOps<Tag> {
                   case 0:
                      optional = Optional.of(NbtOps.InitialListCollector.INSTANCE);
                      break;
+                  case 5:
+                     optional = Optional.of(new NbtOps.FloatListCollector(listtag));
+                     break;
+                  case 6:
+                     optional = Optional.of(new NbtOps.DoubleListCollector(listtag));
+                     break;
                   case 10:
                      optional = Optional.of(new NbtOps.HeterogenousListCollector(listtag));
                      break;
@@ -438,6 +458,62 @@ public class NbtOps implements DynamicOps<Tag> {
       }
    }
 
+   static class DoubleListCollector implements NbtOps.ListCollector {
+      private final DoubleArrayList values = new DoubleArrayList();
+
+      public DoubleListCollector(double p_295588_) {
+         this.values.add(p_295588_);
+      }
+
+      public DoubleListCollector(ListTag p_295589_) {
+         for(int i = 0; i < p_295589_.size(); ++i) {
+            this.values.add(p_295589_.getDouble(i));
+         }
+
+      }
+
+      public NbtOps.ListCollector accept(Tag p_295590_) {
+         if (p_295590_ instanceof DoubleTag doubletag) {
+            this.values.add(doubletag.getAsDouble());
+            return this;
+         } else {
+            return (new NbtOps.HeterogenousListCollector()).acceptAll(this.result()).accept(p_295590_);
+         }
+      }
+
+      public ListTag result() {
+         return new ListTag(new ListTag.DoubleList(this.values.toDoubleArray(), this.values.size()), (byte)6);
+      }
+   }
+
+   static class FloatListCollector implements NbtOps.ListCollector {
+      private final FloatArrayList values = new FloatArrayList();
+
+      public FloatListCollector(float p_295591_) {
+         this.values.add(p_295591_);
+      }
+
+      public FloatListCollector(ListTag p_295592_) {
+         for(int i = 0; i < p_295592_.size(); ++i) {
+            this.values.add(p_295592_.getFloat(i));
+         }
+
+      }
+
+      public NbtOps.ListCollector accept(Tag p_295593_) {
+         if (p_295593_ instanceof FloatTag floattag) {
+            this.values.add(floattag.getAsFloat());
+            return this;
+         } else {
+            return (new NbtOps.HeterogenousListCollector()).acceptAll(this.result()).accept(p_295593_);
+         }
+      }
+
+      public ListTag result() {
+         return new ListTag(new ListTag.FloatList(this.values.toFloatArray(), this.values.size()), (byte)5);
+      }
+   }
+
    static class HeterogenousListCollector implements NbtOps.ListCollector {
       private final ListTag result = new ListTag();
 
@@ -497,13 +573,15 @@ public class NbtOps implements DynamicOps<Tag> {
    }
 
    static class HomogenousListCollector implements NbtOps.ListCollector {
-      private final ListTag result = new ListTag();
+      private final ListTag result;
 
       HomogenousListCollector(Tag p_249247_) {
+         this.result = ListTag.forElementType(p_249247_.getId());
          this.result.add(p_249247_);
       }
 
       HomogenousListCollector(ListTag p_249889_) {
+         this.result = ListTag.forElementType(p_249889_.getElementType());
          this.result.addAll(p_249889_);
       }
 
@@ -536,6 +614,10 @@ public class NbtOps implements DynamicOps<Tag> {
             return new NbtOps.IntListCollector(inttag.getAsInt());
          } else if (p_251635_ instanceof LongTag longtag) {
             return new NbtOps.LongListCollector(longtag.getAsLong());
+         } else if (p_251635_ instanceof DoubleTag doubletag) {
+            return new NbtOps.DoubleListCollector(doubletag.getAsDouble());
+         } else if (p_251635_ instanceof FloatTag floattag) {
+            return new NbtOps.FloatListCollector(floattag.getAsFloat());
          } else {
             return new NbtOps.HomogenousListCollector(p_251635_);
          }
@@ -3,38 +3,85 @@ package net.minecraft.network;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.AttributeKey;
+import java.nio.ByteBuffer;
 import java.util.zip.Deflater;
 
 public class CompressionEncoder extends MessageToByteEncoder<ByteBuf> {
-   private final byte[] encodeBuf = new byte[8192];
+   public static final AttributeKey<Boolean> CHUNK_DATA = AttributeKey.valueOf("chunk_data");
+   private final int compressionLevel;
+   private final int chunkCompressionLevel;
    private final Deflater deflater;
+   private int deflaterLevel = -1;
    private int threshold;
 
    public CompressionEncoder(int p_129448_) {
+      this(p_129448_, -1, -1);
+   }
+
+   public CompressionEncoder(int p_129448_, int p_295254_, int p_295255_) {
       this.threshold = p_129448_;
+      this.compressionLevel = p_295254_;
+      this.chunkCompressionLevel = p_295255_;
       this.deflater = new Deflater();
    }
 
+   public int getLevel(boolean p_295256_) {
+      return p_295256_ && this.chunkCompressionLevel != -1 ? this.chunkCompressionLevel : this.compressionLevel;
+   }
+
+   protected ByteBuf allocateBuffer(ChannelHandlerContext p_295257_, ByteBuf p_295258_, boolean p_295259_) {
+      int i = p_295258_.readableBytes();
+      return p_295257_.alloc().directBuffer(VarInt.getByteSize(i) + i + (i >> 12) + (i >> 14) + (i >> 25) + 13);
+   }
+
    protected void encode(ChannelHandlerContext p_129452_, ByteBuf p_129453_, ByteBuf p_129454_) {
-      int i = p_129453_.readableBytes();
-      if (i < this.threshold) {
-         VarInt.write(p_129454_, 0);
-         p_129454_.writeBytes(p_129453_);
+      boolean flag = p_129452_.channel().attr(CHUNK_DATA).getAndSet((Boolean)null) == Boolean.TRUE;
+      PacketEncodingCache packetencodingcache = p_129452_.channel().attr(PacketEncodingCache.PENDING_COMPRESSION).getAndSet((PacketEncodingCache)null);
+      if (packetencodingcache != null) {
+         p_129453_.skipBytes(p_129453_.readableBytes());
+         p_129454_.writeBytes(packetencodingcache.getCompressed(this.threshold, this.getLevel(true)));
       } else {
-         byte[] abyte = new byte[i];
-         p_129453_.readBytes(abyte);
-         VarInt.write(p_129454_, abyte.length);
-         this.deflater.setInput(abyte, 0, i);
-         this.deflater.finish();
-
-         while(!this.deflater.finished()) {
-            int j = this.deflater.deflate(this.encodeBuf);
-            p_129454_.writeBytes(this.encodeBuf, 0, j);
+         int i = this.getLevel(flag);
+         if (i != this.deflaterLevel) {
+            this.deflater.setLevel(i);
+            this.deflaterLevel = i;
          }
 
-         this.deflater.reset();
+         compress(this.deflater, p_129453_, this.threshold, p_129454_);
       }
+   }
 
+   static void compress(Deflater p_295220_, ByteBuf p_295221_, int p_295223_, ByteBuf p_295224_) {
+      int i = p_295221_.readableBytes();
+      if (i < p_295223_) {
+         VarInt.write(p_295224_, 0);
+         p_295224_.writeBytes(p_295221_);
+      } else {
+         VarInt.write(p_295224_, i);
+         if (p_295221_.nioBufferCount() == 1) {
+            p_295220_.setInput(p_295221_.nioBuffer());
+            p_295221_.skipBytes(i);
+         } else {
+            byte[] abyte = new byte[i];
+            p_295221_.readBytes(abyte);
+            p_295220_.setInput(abyte);
+         }
+
+         p_295220_.finish();
+
+         while(!p_295220_.finished()) {
+            if (!p_295224_.isWritable()) {
+               p_295224_.ensureWritable(8192);
+            }
+
+            ByteBuffer bytebuffer = p_295224_.internalNioBuffer(p_295224_.writerIndex(), p_295224_.writableBytes());
+            int j = p_295220_.deflate(bytebuffer);
+            p_295224_.writerIndex(p_295224_.writerIndex() + j);
+         }
+
+         p_295220_.reset();
+      }
    }
 
    public int getThreshold() {
@@ -44,4 +91,4 @@ public class CompressionEncoder extends MessageToByteEncoder<ByteBuf> {
    public void setThreshold(int p_129450_) {
       this.threshold = p_129450_;
    }
-}
\ No newline at end of file
+}
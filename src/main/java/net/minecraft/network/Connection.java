@@ -12,8 +12,10 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.epoll.Epoll;
@@ -30,9 +32,12 @@ import io.netty.handler.timeout.TimeoutException;
 import io.netty.util.AttributeKey;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -94,6 +99,12 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
    private boolean disconnectionHandled;
    private int receivedPackets;
    private int sentPackets;
+   private final AtomicInteger sentPacketsOffThread = new AtomicInteger();
+   private final List<Connection.PendingPacket> coalescedPackets = new ArrayList<>();
+   private volatile boolean hasCoalescedPackets;
+   private volatile int unwritableCount;
+   @Nullable
+   private volatile Varint21LengthFieldPrepender prepender;
    private float averageReceivedPackets;
    private float averageSentPackets;
    private int tickCount;
@@ -111,6 +122,10 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
       super.channelActive(p_129525_);
       this.channel = p_129525_.channel();
       this.address = this.channel.remoteAddress();
+      if (this.channel.pipeline().get("prepender") instanceof Varint21LengthFieldPrepender varint21lengthfieldprepender) {
+         this.prepender = varint21lengthfieldprepender;
+      }
+
       if (this.delayedDisconnect != null) {
          this.disconnect(this.delayedDisconnect);
       }
@@ -122,6 +137,14 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
       p_300821_.attr(ATTRIBUTE_CLIENTBOUND_PROTOCOL).set(ConnectionProtocol.HANDSHAKING.codec(PacketFlow.CLIENTBOUND));
    }
 
+   public void channelWritabilityChanged(ChannelHandlerContext p_295283_) throws Exception {
+      if (!p_295283_.channel().isWritable()) {
+         ++this.unwritableCount;
+      }
+
+      super.channelWritabilityChanged(p_295283_);
+   }
+
    public void channelInactive(ChannelHandlerContext p_129527_) {
       this.disconnect(Component.translatable("disconnect.endOfStream"));
    }
@@ -254,6 +277,10 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
    }
 
    public void send(Packet<?> p_298754_, @Nullable PacketSendListener p_300685_, boolean p_298821_) {
+      if (this.hasCoalescedPackets) {
+         this.sendCoalescedPackets(false);
+      }
+
       if (this.isConnected()) {
          this.flushQueue();
          this.sendPacket(p_298754_, p_300685_, p_298821_);
@@ -307,6 +334,71 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
       channelfuture.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
    }
 
+   public void queueCoalesced(Packet<?> p_295263_, @Nullable PacketSendListener p_295264_) {
+      synchronized(this.coalescedPackets) {
+         this.coalescedPackets.add(new Connection.PendingPacket(p_295263_, p_295264_));
+         this.hasCoalescedPackets = true;
+      }
+   }
+
+   public boolean sendCoalescedPackets(boolean p_295265_) {
+      List<Connection.PendingPacket> list;
+      synchronized(this.coalescedPackets) {
+         if (this.coalescedPackets.isEmpty()) {
+            return false;
+         }
+
+         list = List.copyOf(this.coalescedPackets);
+         this.coalescedPackets.clear();
+         this.hasCoalescedPackets = false;
+         if (!this.isConnected()) {
+            for(Connection.PendingPacket connection$pendingpacket : list) {
+               this.pendingActions.add((p_295266_) -> {
+                  p_295266_.sendPacket(connection$pendingpacket.packet, connection$pendingpacket.listener, p_295265_);
+               });
+            }
+
+            return true;
+         }
+
+         this.sentPacketsOffThread.addAndGet(list.size());
+         Runnable runnable = () -> {
+            for(Connection.PendingPacket connection$pendingpacket1 : list) {
+               this.doSendPacket(connection$pendingpacket1.packet, connection$pendingpacket1.listener, false);
+            }
+
+            if (p_295265_) {
+               this.channel.flush();
+            }
+
+         };
+         if (this.channel.eventLoop().inEventLoop()) {
+            runnable.run();
+         } else {
+            this.channel.eventLoop().execute(runnable);
+         }
+      }
+
+      return true;
+   }
+
+   @Nullable
+   public EventLoop getEventLoop() {
+      return this.channel != null ? this.channel.eventLoop() : null;
+   }
+
+   public void sendFromEventLoop(Packet<?> p_295243_, boolean p_295244_) {
+      if (this.isConnected()) {
+         this.sentPacketsOffThread.incrementAndGet();
+         this.doSendPacket(p_295243_, (PacketSendListener)null, p_295244_);
+      } else {
+         this.pendingActions.add((p_295395_) -> {
+            p_295395_.sendPacket(p_295243_, (PacketSendListener)null, p_295244_);
+         });
+      }
+
+   }
+
    public void flushChannel() {
       if (this.isConnected()) {
          this.flush();
@@ -381,6 +473,7 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
    }
 
    protected void tickSecond() {
+      this.sentPackets += this.sentPacketsOffThread.getAndSet(0);
       this.averageSentPackets = Mth.lerp(0.75F, (float)this.sentPackets, this.averageSentPackets);
       this.averageReceivedPackets = Mth.lerp(0.75F, (float)this.receivedPackets, this.averageReceivedPackets);
       this.sentPackets = 0;
@@ -510,6 +603,29 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
       return this.channel != null && this.channel.isOpen();
    }
 
+   public boolean isWritable() {
+      return this.channel == null || this.channel.isWritable();
+   }
+
+   public long getPendingWriteBytes() {
+      Channel channel = this.channel;
+      if (channel == null) {
+         return 0L;
+      } else {
+         ChannelOutboundBuffer channeloutboundbuffer = channel.unsafe().outboundBuffer();
+         return channeloutboundbuffer == null ? 0L : channeloutboundbuffer.totalPendingWriteBytes();
+      }
+   }
+
+   public int getUnwritableCount() {
+      return this.unwritableCount;
+   }
+
+   public long getBytesWritten() {
+      Varint21LengthFieldPrepender varint21lengthfieldprepender = this.prepender;
+      return varint21lengthfieldprepender == null ? 0L : varint21lengthfieldprepender.getBytesWritten();
+   }
+
    public boolean isConnecting() {
       return this.channel == null;
    }
@@ -532,6 +648,10 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
    }
 
    public void setupCompression(int p_129485_, boolean p_182682_) {
+      this.setupCompression(p_129485_, -1, -1, p_182682_);
+   }
+
+   public void setupCompression(int p_129485_, int p_295575_, int p_295576_, boolean p_182682_) {
       if (p_129485_ >= 0) {
          if (this.channel.pipeline().get("decompress") instanceof CompressionDecoder) {
             ((CompressionDecoder)this.channel.pipeline().get("decompress")).setThreshold(p_129485_, p_182682_);
@@ -542,7 +662,7 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
          if (this.channel.pipeline().get("compress") instanceof CompressionEncoder) {
             ((CompressionEncoder)this.channel.pipeline().get("compress")).setThreshold(p_129485_);
          } else {
-            this.channel.pipeline().addBefore("encoder", "compress", new CompressionEncoder(p_129485_));
+            this.channel.pipeline().addBefore("encoder", "compress", new CompressionEncoder(p_129485_, p_295575_, p_295576_));
          }
       } else {
          if (this.channel.pipeline().get("decompress") instanceof CompressionDecoder) {
@@ -586,4 +706,7 @@ public class Connection extends SimpleChannelInboundHandler<Packet<?>> {
    public void setBandwidthLogger(SampleLogger p_300126_) {
       this.bandwidthDebugMonitor = new BandwidthDebugMonitor(p_300126_);
    }
-}
\ No newline at end of file
+
+   static record PendingPacket(Packet<?> packet, @Nullable PacketSendListener listener) {
+   }
+}
@@ -20,6 +20,10 @@ public class PacketEncoder extends MessageToByteEncoder<Packet<?>> {
    }
 
    protected void encode(ChannelHandlerContext p_130545_, Packet<?> p_130546_, ByteBuf p_130547_) throws Exception {
+      Attribute<PacketEncodingCache> attribute1 = p_130545_.channel().attr(PacketEncodingCache.PENDING_COMPRESSION);
+      attribute1.set((PacketEncodingCache)null);
+      Attribute<Boolean> attribute2 = p_130545_.channel().attr(CompressionEncoder.CHUNK_DATA);
+      attribute2.set(p_130546_.isChunkData() ? Boolean.TRUE : null);
       Attribute<ConnectionProtocol.CodecData<?>> attribute = p_130545_.channel().attr(this.codecKey);
       ConnectionProtocol.CodecData<?> codecdata = attribute.get();
       if (codecdata == null) {
@@ -33,15 +37,28 @@ public class PacketEncoder extends MessageToByteEncoder<Packet<?>> {
          if (i == -1) {
             throw new IOException("Can't serialize unregistered packet");
          } else {
+            PacketEncodingCache packetencodingcache = p_130546_.getEncodingCache();
             FriendlyByteBuf friendlybytebuf = new FriendlyByteBuf(p_130547_);
-            friendlybytebuf.writeVarInt(i);
 
             try {
-               int j = friendlybytebuf.writerIndex();
-               p_130546_.write(friendlybytebuf);
-               int k = friendlybytebuf.writerIndex() - j;
-               if (k > 8388608) {
-                  throw new IllegalArgumentException("Packet too big (is " + k + ", should be less than 8388608): " + p_130546_);
+               int k;
+               if (packetencodingcache != null) {
+                  byte[] abyte = packetencodingcache.getEncoded(i, p_130546_);
+                  k = abyte.length - VarInt.getByteSize(i);
+                  if (k > 8388608) {
+                     throw new IllegalArgumentException("Packet too big (is " + k + ", should be less than 8388608): " + p_130546_);
+                  }
+
+                  friendlybytebuf.writeBytes(abyte);
+                  attribute1.set(packetencodingcache);
+               } else {
+                  friendlybytebuf.writeVarInt(i);
+                  int j = friendlybytebuf.writerIndex();
+                  p_130546_.write(friendlybytebuf);
+                  k = friendlybytebuf.writerIndex() - j;
+                  if (k > 8388608) {
+                     throw new IllegalArgumentException("Packet too big (is " + k + ", should be less than 8388608): " + p_130546_);
+                  }
                }
 
                JvmProfiler.INSTANCE.onPacketSent(codecdata.protocol(), i, p_130545_.channel().remoteAddress(), k);
@@ -0,0 +1,80 @@
+package net.minecraft.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.AttributeKey;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import javax.annotation.Nullable;
+import net.minecraft.network.protocol.Packet;
+
+public class PacketEncodingCache {
+   public static final AttributeKey<PacketEncodingCache> PENDING_COMPRESSION = AttributeKey.valueOf("pending_shared_compression");
+   private static final AtomicLong ENCODE_REUSES = new AtomicLong();
+   private static final AtomicLong COMPRESS_REUSES = new AtomicLong();
+   @Nullable
+   private byte[] encoded;
+   private int encodedId = -1;
+   @Nullable
+   private byte[] compressed;
+   private int compressedThreshold = -1;
+   private int compressedLevel = -1;
+
+   public synchronized byte[] getEncoded(int p_295217_, Packet<?> p_295218_) {
+      if (this.encoded != null && this.encodedId == p_295217_) {
+         ENCODE_REUSES.incrementAndGet();
+         return this.encoded;
+      } else {
+         ByteBuf bytebuf = Unpooled.buffer();
+
+         try {
+            FriendlyByteBuf friendlybytebuf = new FriendlyByteBuf(bytebuf);
+            friendlybytebuf.writeVarInt(p_295217_);
+            p_295218_.write(friendlybytebuf);
+            byte[] abyte = new byte[bytebuf.readableBytes()];
+            bytebuf.readBytes(abyte);
+            this.encoded = abyte;
+            this.encodedId = p_295217_;
+            this.compressed = null;
+            this.compressedThreshold = -1;
+            this.compressedLevel = -1;
+            return abyte;
+         } finally {
+            bytebuf.release();
+         }
+      }
+   }
+
+   public synchronized byte[] getCompressed(int p_295219_, int p_295260_) {
+      if (this.encoded == null) {
+         throw new IllegalStateException("Packet has not been encoded yet");
+      } else if (this.compressed != null && this.compressedThreshold == p_295219_ && this.compressedLevel == p_295260_) {
+         COMPRESS_REUSES.incrementAndGet();
+         return this.compressed;
+      } else {
+         ByteBuf bytebuf = Unpooled.buffer();
+         Deflater deflater = new Deflater(p_295260_);
+
+         try {
+            CompressionEncoder.compress(deflater, Unpooled.wrappedBuffer(this.encoded), p_295219_, bytebuf);
+            byte[] abyte = new byte[bytebuf.readableBytes()];
+            bytebuf.readBytes(abyte);
+            this.compressed = abyte;
+            this.compressedThreshold = p_295219_;
+            this.compressedLevel = p_295260_;
+            return abyte;
+         } finally {
+            deflater.end();
+            bytebuf.release();
+         }
+      }
+   }
+
+   public static long getEncodeReuses() {
+      return ENCODE_REUSES.get();
+   }
+
+   public static long getCompressReuses() {
+      return COMPRESS_REUSES.get();
+   }
+}
@@ -5,10 +5,12 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.MessageToByteEncoder;
+import java.util.concurrent.atomic.LongAdder;
 
 @Sharable
 public class Varint21LengthFieldPrepender extends MessageToByteEncoder<ByteBuf> {
    public static final int MAX_VARINT21_BYTES = 3;
+   private final LongAdder bytesWritten = new LongAdder();
 
    protected void encode(ChannelHandlerContext p_130571_, ByteBuf p_130572_, ByteBuf p_130573_) {
       int i = p_130572_.readableBytes();
@@ -19,6 +21,11 @@ public class Varint21LengthFieldPrepender extends MessageToByteEncoder<ByteBuf>
          p_130573_.ensureWritable(j + i);
          VarInt.write(p_130573_, i);
          p_130573_.writeBytes(p_130572_, p_130572_.readerIndex(), i);
+         this.bytesWritten.add((long)(j + i));
       }
    }
+
+   public long getBytesWritten() {
+      return this.bytesWritten.sum();
+   }
 }
\ No newline at end of file
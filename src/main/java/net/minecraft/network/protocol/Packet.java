@@ -3,6 +3,7 @@ package net.minecraft.network.protocol;
 import javax.annotation.Nullable;
 import net.minecraft.network.ConnectionProtocol;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.PacketEncodingCache;
 import net.minecraft.network.PacketListener;
 
 public interface Packet<T extends PacketListener> {
@@ -18,4 +19,13 @@ public interface Packet<T extends PacketListener> {
    default ConnectionProtocol nextProtocol() {
       return null;
    }
+
+   @Nullable
+   default PacketEncodingCache getEncodingCache() {
+      return null;
+   }
+
+   default boolean isChunkData() {
+      return false;
+   }
 }
\ No newline at end of file
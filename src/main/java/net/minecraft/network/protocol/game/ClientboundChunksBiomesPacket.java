@@ -72,4 +72,8 @@ public record ClientboundChunksBiomesPacket(List<ClientboundChunksBiomesPacket.C
          p_275467_.writeByteArray(this.buffer);
       }
    }
-}
\ No newline at end of file
+
+   public boolean isChunkData() {
+      return true;
+   }
+}
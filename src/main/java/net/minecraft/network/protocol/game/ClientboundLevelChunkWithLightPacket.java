@@ -3,6 +3,7 @@ package net.minecraft.network.protocol.game;
 import java.util.BitSet;
 import javax.annotation.Nullable;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.PacketEncodingCache;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.LevelChunk;
@@ -13,13 +14,20 @@ public class ClientboundLevelChunkWithLightPacket implements Packet<ClientGamePa
    private final int z;
    private final ClientboundLevelChunkPacketData chunkData;
    private final ClientboundLightUpdatePacketData lightData;
+   @Nullable
+   private final PacketEncodingCache encodingCache;
 
    public ClientboundLevelChunkWithLightPacket(LevelChunk p_285290_, LevelLightEngine p_285254_, @Nullable BitSet p_285350_, @Nullable BitSet p_285304_) {
-      ChunkPos chunkpos = p_285290_.getPos();
+      this(p_285290_, p_285254_, p_285350_, p_285304_, false);
+   }
+
+   public ClientboundLevelChunkWithLightPacket(LevelChunk p_295225_, LevelLightEngine p_295226_, @Nullable BitSet p_295227_, @Nullable BitSet p_295228_, boolean p_295229_) {
+      ChunkPos chunkpos = p_295225_.getPos();
       this.x = chunkpos.x;
       this.z = chunkpos.z;
-      this.chunkData = new ClientboundLevelChunkPacketData(p_285290_);
-      this.lightData = new ClientboundLightUpdatePacketData(chunkpos, p_285254_, p_285350_, p_285304_);
+      this.chunkData = new ClientboundLevelChunkPacketData(p_295225_);
+      this.lightData = new ClientboundLightUpdatePacketData(chunkpos, p_295226_, p_295227_, p_295228_);
+      this.encodingCache = p_295229_ ? new PacketEncodingCache() : null;
    }
 
    public ClientboundLevelChunkWithLightPacket(FriendlyByteBuf p_195710_) {
@@ -27,6 +35,7 @@ public class ClientboundLevelChunkWithLightPacket implements Packet<ClientGamePa
       this.z = p_195710_.readInt();
       this.chunkData = new ClientboundLevelChunkPacketData(p_195710_, this.x, this.z);
       this.lightData = new ClientboundLightUpdatePacketData(p_195710_, this.x, this.z);
+      this.encodingCache = null;
    }
 
    public void write(FriendlyByteBuf p_195712_) {
@@ -55,4 +64,13 @@ public class ClientboundLevelChunkWithLightPacket implements Packet<ClientGamePa
    public ClientboundLightUpdatePacketData getLightData() {
       return this.lightData;
    }
-}
\ No newline at end of file
+
+   @Nullable
+   public PacketEncodingCache getEncodingCache() {
+      return this.encodingCache;
+   }
+
+   public boolean isChunkData() {
+      return true;
+   }
+}
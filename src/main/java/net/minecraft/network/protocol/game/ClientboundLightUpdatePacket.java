@@ -45,4 +45,8 @@ public class ClientboundLightUpdatePacket implements Packet<ClientGamePacketList
    public ClientboundLightUpdatePacketData getLightData() {
       return this.lightData;
    }
-}
\ No newline at end of file
+
+   public boolean isChunkData() {
+      return true;
+   }
+}
@@ -44,6 +44,10 @@ public class VecDeltaCodec {
       return p_238032_.subtract(this.base);
    }
 
+   public Vec3 getBase() {
+      return this.base;
+   }
+
    public void setBase(Vec3 p_238034_) {
       this.base = p_238034_;
    }
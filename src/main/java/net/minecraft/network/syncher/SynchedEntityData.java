@@ -3,16 +3,14 @@ package net.minecraft.network.syncher;
 import com.mojang.logging.LogUtils;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nullable;
 import net.minecraft.CrashReport;
 import net.minecraft.CrashReportCategory;
@@ -27,8 +25,11 @@ public class SynchedEntityData {
    private static final Object2IntMap<Class<? extends Entity>> ENTITY_ID_POOL = new Object2IntOpenHashMap<>();
    private static final int MAX_ID_VALUE = 254;
    private final Entity entity;
-   private final Int2ObjectMap<SynchedEntityData.DataItem<?>> itemsById = new Int2ObjectOpenHashMap<>();
-   private final ReadWriteLock lock = new ReentrantReadWriteLock();
+   private static final SynchedEntityData.DataItem<?>[] EMPTY_ITEMS = new SynchedEntityData.DataItem[0];
+   private SynchedEntityData.DataItem<?>[] itemsById = EMPTY_ITEMS;
+   private int itemCount;
+   private final BitSet dirtyIds = new BitSet();
+   private final BitSet nonDefaultIds = new BitSet();
    private boolean isDirty;
 
    public SynchedEntityData(Entity p_135351_) {
@@ -76,7 +77,7 @@ public class SynchedEntityData {
       int i = p_135373_.getId();
       if (i > 254) {
          throw new IllegalArgumentException("Data value id is too big with " + i + "! (Max is 254)");
-      } else if (this.itemsById.containsKey(i)) {
+      } else if (this.hasItem(p_135373_)) {
          throw new IllegalArgumentException("Duplicate id value for " + i + "!");
       } else if (EntityDataSerializers.getSerializedId(p_135373_.getSerializer()) < 0) {
          throw new IllegalArgumentException("Unregistered serializer " + p_135373_.getSerializer() + " for " + i + "!");
@@ -87,31 +88,29 @@ public class SynchedEntityData {
 
    private <T> void createDataItem(EntityDataAccessor<T> p_135386_, T p_135387_) {
       SynchedEntityData.DataItem<T> dataitem = new SynchedEntityData.DataItem<>(p_135386_, p_135387_);
-      this.lock.writeLock().lock();
-      this.itemsById.put(p_135386_.getId(), dataitem);
-      this.lock.writeLock().unlock();
+      int i = p_135386_.getId();
+      if (i >= this.itemsById.length) {
+         this.itemsById = Arrays.copyOf(this.itemsById, i + 1);
+      }
+
+      this.itemsById[i] = dataitem;
+      ++this.itemCount;
    }
 
    public <T> boolean hasItem(EntityDataAccessor<T> p_286294_) {
-      return this.itemsById.containsKey(p_286294_.getId());
+      int i = p_286294_.getId();
+      return i < this.itemsById.length && this.itemsById[i] != null;
    }
 
    private <T> SynchedEntityData.DataItem<T> getItem(EntityDataAccessor<T> p_135380_) {
-      this.lock.readLock().lock();
-
-      SynchedEntityData.DataItem<T> dataitem;
       try {
-         dataitem = (SynchedEntityData.DataItem<T>)this.itemsById.get(p_135380_.getId());
+         return (SynchedEntityData.DataItem<T>)this.itemsById[p_135380_.getId()];
       } catch (Throwable throwable) {
          CrashReport crashreport = CrashReport.forThrowable(throwable, "Getting synched entity data");
          CrashReportCategory crashreportcategory = crashreport.addCategory("Synched entity data");
          crashreportcategory.setDetail("Data ID", p_135380_);
          throw new ReportedException(crashreport);
-      } finally {
-         this.lock.readLock().unlock();
       }
-
-      return dataitem;
    }
 
    public <T> T get(EntityDataAccessor<T> p_135371_) {
@@ -126,8 +125,10 @@ public class SynchedEntityData {
       SynchedEntityData.DataItem<T> dataitem = this.getItem(p_276368_);
       if (p_276370_ || ObjectUtils.notEqual(p_276363_, dataitem.getValue())) {
          dataitem.setValue(p_276363_);
+         this.nonDefaultIds.set(p_276368_.getId(), !dataitem.isSetToDefault());
          this.entity.onSyncedDataUpdated(p_276368_);
          dataitem.setDirty(true);
+         this.dirtyIds.set(p_276368_.getId());
          this.isDirty = true;
       }
 
@@ -141,9 +142,8 @@ public class SynchedEntityData {
    public List<SynchedEntityData.DataValue<?>> packDirty() {
       List<SynchedEntityData.DataValue<?>> list = null;
       if (this.isDirty) {
-         this.lock.readLock().lock();
-
-         for(SynchedEntityData.DataItem<?> dataitem : this.itemsById.values()) {
+         for(int i = this.dirtyIds.nextSetBit(0); i >= 0; i = this.dirtyIds.nextSetBit(i + 1)) {
+            SynchedEntityData.DataItem<?> dataitem = this.itemsById[i];
             if (dataitem.isDirty()) {
                dataitem.setDirty(false);
                if (list == null) {
@@ -154,7 +154,7 @@ public class SynchedEntityData {
             }
          }
 
-         this.lock.readLock().unlock();
+         this.dirtyIds.clear();
       }
 
       this.isDirty = false;
@@ -164,9 +164,9 @@ public class SynchedEntityData {
    @Nullable
    public List<SynchedEntityData.DataValue<?>> getNonDefaultValues() {
       List<SynchedEntityData.DataValue<?>> list = null;
-      this.lock.readLock().lock();
 
-      for(SynchedEntityData.DataItem<?> dataitem : this.itemsById.values()) {
+      for(int i = this.nonDefaultIds.nextSetBit(0); i >= 0; i = this.nonDefaultIds.nextSetBit(i + 1)) {
+         SynchedEntityData.DataItem<?> dataitem = this.itemsById[i];
          if (!dataitem.isSetToDefault()) {
             if (list == null) {
                list = new ArrayList<>();
@@ -176,23 +176,17 @@ public class SynchedEntityData {
          }
       }
 
-      this.lock.readLock().unlock();
       return list;
    }
 
    public void assignValues(List<SynchedEntityData.DataValue<?>> p_135357_) {
-      this.lock.writeLock().lock();
-
-      try {
-         for(SynchedEntityData.DataValue<?> datavalue : p_135357_) {
-            SynchedEntityData.DataItem<?> dataitem = this.itemsById.get(datavalue.id);
-            if (dataitem != null) {
-               this.assignValue(dataitem, datavalue);
-               this.entity.onSyncedDataUpdated(dataitem.getAccessor());
-            }
+      for(SynchedEntityData.DataValue<?> datavalue : p_135357_) {
+         SynchedEntityData.DataItem<?> dataitem = datavalue.id >= 0 && datavalue.id < this.itemsById.length ? this.itemsById[datavalue.id] : null;
+         if (dataitem != null) {
+            this.assignValue(dataitem, datavalue);
+            this.nonDefaultIds.set(datavalue.id, !dataitem.isSetToDefault());
+            this.entity.onSyncedDataUpdated(dataitem.getAccessor());
          }
-      } finally {
-         this.lock.writeLock().unlock();
       }
 
       this.entity.onSyncedDataUpdated(p_135357_);
@@ -207,7 +201,7 @@ public class SynchedEntityData {
    }
 
    public boolean isEmpty() {
-      return this.itemsById.isEmpty();
+      return this.itemCount == 0;
    }
 
    public static class DataItem<T> {
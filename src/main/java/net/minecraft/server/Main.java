@@ -16,6 +16,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
 import joptsimple.OptionSpec;
@@ -33,6 +34,7 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.obfuscate.DontObfuscate;
 import net.minecraft.resources.RegistryOps;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.dedicated.DedicatedServer;
 import net.minecraft.server.dedicated.DedicatedServerProperties;
 import net.minecraft.server.dedicated.DedicatedServerSettings;
@@ -46,8 +48,10 @@ import net.minecraft.util.profiling.jfr.JvmProfiler;
 import net.minecraft.util.worldupdate.WorldUpgrader;
 import net.minecraft.world.flag.FeatureFlags;
 import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelSettings;
 import net.minecraft.world.level.WorldDataConfiguration;
+import net.minecraft.world.level.chunk.storage.RegionFileVersion;
 import net.minecraft.world.level.dimension.LevelStem;
 import net.minecraft.world.level.levelgen.WorldDimensions;
 import net.minecraft.world.level.levelgen.WorldOptions;
@@ -71,6 +75,7 @@ public class Main {
       OptionSpec<Void> optionspec3 = optionparser.accepts("bonusChest");
       OptionSpec<Void> optionspec4 = optionparser.accepts("forceUpgrade");
       OptionSpec<Void> optionspec5 = optionparser.accepts("eraseCache");
+      OptionSpec<Void> optionspec15 = optionparser.accepts("recreateRegionFiles", "Rewrites every chunk, entity and POI region file with each dimension's configured region file compression during --forceUpgrade");
       OptionSpec<Void> optionspec6 = optionparser.accepts("safeMode", "Loads level with vanilla datapack only");
       OptionSpec<Void> optionspec7 = optionparser.accepts("help").forHelp();
       OptionSpec<String> optionspec8 = optionparser.accepts("universe").withRequiredArg().defaultsTo(".");
@@ -179,7 +184,7 @@ public class Main {
 
          RegistryAccess.Frozen registryaccess$frozen = worldstem.registries().compositeAccess();
          if (optionset.has(optionspec4)) {
-            forceUpgrade(levelstoragesource$levelstorageaccess, DataFixers.getDataFixer(), optionset.has(optionspec5), () -> {
+            forceUpgrade(levelstoragesource$levelstorageaccess, DataFixers.getDataFixer(), optionset.has(optionspec5), optionset.has(optionspec15), dedicatedserversettings.getProperties()::getRegionFileVersion, () -> {
                return true;
             }, registryaccess$frozen.registryOrThrow(Registries.LEVEL_STEM));
          }
@@ -236,9 +241,9 @@ public class Main {
       return new WorldLoader.InitConfig(worldloader$packconfig, Commands.CommandSelection.DEDICATED, p_248563_.functionPermissionLevel);
    }
 
-   private static void forceUpgrade(LevelStorageSource.LevelStorageAccess p_195489_, DataFixer p_195490_, boolean p_195491_, BooleanSupplier p_195492_, Registry<LevelStem> p_250443_) {
+   private static void forceUpgrade(LevelStorageSource.LevelStorageAccess p_195489_, DataFixer p_195490_, boolean p_195491_, boolean p_299512_, Function<ResourceKey<Level>, RegionFileVersion> p_295357_, BooleanSupplier p_195492_, Registry<LevelStem> p_250443_) {
       LOGGER.info("Forcing world upgrade!");
-      WorldUpgrader worldupgrader = new WorldUpgrader(p_195489_, p_195490_, p_250443_, p_195491_);
+      WorldUpgrader worldupgrader = new WorldUpgrader(p_195489_, p_195490_, p_250443_, p_195491_, p_299512_, p_295357_);
       Component component = null;
 
       while(!worldupgrader.isFinished()) {
@@ -11,6 +11,8 @@ import com.mojang.authlib.GameProfileRepository;
 import com.mojang.authlib.minecraft.MinecraftSessionService;
 import com.mojang.datafixers.DataFixer;
 import com.mojang.logging.LogUtils;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.WriteBufferWaterMark;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.awt.image.BufferedImage;
@@ -50,6 +52,7 @@ import net.minecraft.ReportedException;
 import net.minecraft.SharedConstants;
 import net.minecraft.SystemReport;
 import net.minecraft.Util;
+import net.minecraft.bot.BotHarness;
 import net.minecraft.commands.CommandSource;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -137,6 +140,7 @@ import net.minecraft.world.level.biome.BiomeManager;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.border.BorderChangeListener;
 import net.minecraft.world.level.border.WorldBorder;
+import net.minecraft.world.level.chunk.storage.RegionFileVersion;
 import net.minecraft.world.level.dimension.LevelStem;
 import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraft.world.level.levelgen.PatrolSpawner;
@@ -189,6 +193,8 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
    @Nullable
    private MinecraftServer.TimeProfiler debugCommandProfiler;
    private boolean debugCommandProfilerDelayStart;
+   @Nullable
+   private BotHarness botHarness;
    private final ServerConnectionListener connection;
    private final ChunkProgressListenerFactory progressListenerFactory;
    @Nullable
@@ -205,6 +211,7 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
    private volatile boolean running = true;
    private boolean stopped;
    private int tickCount;
+   private int chunkSendOffset;
    protected final Proxy proxy;
    private boolean onlineMode;
    private boolean preventProxyConnections;
@@ -491,6 +498,10 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
    public abstract boolean shouldRconBroadcast();
 
    public boolean saveAllChunks(boolean p_129886_, boolean p_129887_, boolean p_129888_) {
+      return this.saveAllChunks(p_129886_, p_129887_, p_129888_, false);
+   }
+
+   private boolean saveAllChunks(boolean p_129886_, boolean p_129887_, boolean p_129888_, boolean p_295368_) {
       boolean flag = false;
 
       for(ServerLevel serverlevel : this.getAllLevels()) {
@@ -498,7 +509,7 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
             LOGGER.info("Saving chunks for level '{}'/{}", serverlevel, serverlevel.dimension().location());
          }
 
-         serverlevel.save((ProgressListener)null, p_129887_, serverlevel.noSave && !p_129888_);
+         serverlevel.save((ProgressListener)null, p_129887_, serverlevel.noSave && !p_129888_, p_295368_);
          flag = true;
       }
 
@@ -519,11 +530,15 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
    }
 
    public boolean saveEverything(boolean p_195515_, boolean p_195516_, boolean p_195517_) {
+      return this.saveEverything(p_195515_, p_195516_, p_195517_, false);
+   }
+
+   private boolean saveEverything(boolean p_195515_, boolean p_195516_, boolean p_195517_, boolean p_295369_) {
       boolean flag;
       try {
          this.isSaving = true;
          this.getPlayerList().saveAll();
-         flag = this.saveAllChunks(p_195515_, p_195516_, p_195517_);
+         flag = this.saveAllChunks(p_195515_, p_195516_, p_195517_, p_295369_);
       } finally {
          this.isSaving = false;
       }
@@ -541,6 +556,7 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
       }
 
       LOGGER.info("Stopping server");
+      this.stopBotHarness();
       this.getConnection().stop();
       this.isSaving = true;
       if (this.playerList != null) {
@@ -803,7 +819,7 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
       if (this.tickCount % 6000 == 0) {
          LOGGER.debug("Autosave started");
          this.profiler.push("save");
-         this.saveEverything(true, false, false);
+         this.saveEverything(true, false, false, true);
          this.profiler.pop();
          LOGGER.debug("Autosave finished");
       }
@@ -891,12 +907,36 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
       }
 
       this.profiler.popPush("send chunks");
+      List<ServerPlayer> list = this.playerList.getPlayers();
+      int j = this.getChunkSendBudget();
+      boolean flag = j > 0;
+      int k = 0;
+      if (flag) {
+         for(ServerPlayer serverplayer1 : list) {
+            if (serverplayer1.connection.chunkSender.hasPendingChunks()) {
+               ++k;
+            }
+         }
+      }
+
+      int l = list.size();
+
+      for(int i1 = 0; i1 < l; ++i1) {
+         ServerPlayer serverplayer = list.get((i1 + this.chunkSendOffset) % l);
+         if (!flag) {
+            serverplayer.connection.chunkSender.sendNextChunks(serverplayer);
+         } else if (j > 0 && k > 0 && serverplayer.connection.chunkSender.hasPendingChunks()) {
+            j -= serverplayer.connection.chunkSender.sendNextChunks(serverplayer, Math.max(1, j / k));
+            --k;
+         } else {
+            serverplayer.connection.chunkSender.sendNextChunks(serverplayer, 0);
+         }
 
-      for(ServerPlayer serverplayer : this.playerList.getPlayers()) {
-         serverplayer.connection.chunkSender.sendNextChunks(serverplayer);
          serverplayer.connection.resumeFlushing();
       }
 
+      this.chunkSendOffset = l == 0 ? 0 : (this.chunkSendOffset + 1) % l;
+
       this.profiler.pop();
    }
 
@@ -1696,10 +1736,113 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
       }
    }
 
+   public boolean isBotHarnessRunning() {
+      return this.botHarness != null && this.botHarness.isRunning();
+   }
+
+   public void startBotHarness(BotHarness p_296190_) {
+      this.stopBotHarness();
+      this.botHarness = p_296190_;
+      p_296190_.start();
+   }
+
+   public void stopBotHarness() {
+      if (this.botHarness != null) {
+         this.botHarness.stop();
+         this.botHarness = null;
+      }
+
+   }
+
    public int getMaxChainedNeighborUpdates() {
       return 1000000;
    }
 
+   public long getIncrementalAutosaveBudgetNanos() {
+      return 0L;
+   }
+
+   public boolean isChunkSerializationDeferred() {
+      return false;
+   }
+
+   public int getChunkPrefetchBudget() {
+      return 0;
+   }
+
+   public boolean isChunkSendCongestionControlEnabled() {
+      return false;
+   }
+
+   public int getChunkSendBudget() {
+      return 0;
+   }
+
+   public int getChunkPacketCacheSize() {
+      return 0;
+   }
+
+   public boolean isEntityBroadcastFanoutEnabled() {
+      return false;
+   }
+
+   public boolean isPacketCoalescingEnabled() {
+      return false;
+   }
+
+   public int getBlockUpdateResyncThreshold() {
+      return 0;
+   }
+
+   public int getBlockUpdateBatchTicks() {
+      return 0;
+   }
+
+   public int getBlockUpdateBatchDistance() {
+      return 8;
+   }
+
+   public int getEntityTrackingLodStart() {
+      return 0;
+   }
+
+   public boolean isAsyncPacketValidationEnabled() {
+      return false;
+   }
+
+   public boolean isSparseRandomTickingEnabled() {
+      return false;
+   }
+
+   public RegionFileVersion getRegionFileVersion(ResourceKey<Level> p_295361_) {
+      return RegionFileVersion.DEFAULT;
+   }
+
+   public int getRegionIoThreads() {
+      return 1;
+   }
+
+   public int getNetworkCompressionLevel() {
+      return -1;
+   }
+
+   public int getChunkCompressionLevel() {
+      return -1;
+   }
+
+   public int getNetworkIoThreads() {
+      return 0;
+   }
+
+   public WriteBufferWaterMark getNetworkWriteBufferWaterMark() {
+      return WriteBufferWaterMark.DEFAULT;
+   }
+
+   @Nullable
+   public ByteBufAllocator getNetworkBufferAllocator() {
+      return null;
+   }
+
    public void logChatMessage(Component p_241503_, ChatType.Bound p_241402_, @Nullable String p_241481_) {
       String s = p_241402_.decorate(p_241503_).getString();
       if (p_241481_ != null) {
@@ -0,0 +1,66 @@
+package net.minecraft.server.commands;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import net.minecraft.bot.BotHarness;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.StringUtil;
+
+public class BotsCommand {
+   private static final SimpleCommandExceptionType ERROR_ALREADY_RUNNING = new SimpleCommandExceptionType(Component.literal("Bots are already running. Stop them using /bots stop"));
+   private static final SimpleCommandExceptionType ERROR_NOT_RUNNING = new SimpleCommandExceptionType(Component.literal("No bots are running"));
+   private static final SimpleCommandExceptionType ERROR_NOT_PUBLISHED = new SimpleCommandExceptionType(Component.literal("Bots connect over the network, but the server is not listening on a port"));
+   private static final SimpleCommandExceptionType ERROR_ONLINE_MODE = new SimpleCommandExceptionType(Component.literal("Bots can only join servers with online-mode=false"));
+   private static final int DEFAULT_DURATION = 300;
+
+   public static void register(CommandDispatcher<CommandSourceStack> p_295578_) {
+      p_295578_.register(Commands.literal("bots").requires((p_295579_) -> {
+         return p_295579_.hasPermission(4);
+      }).then(Commands.literal("start").then(Commands.argument("count", IntegerArgumentType.integer(1, 1000)).executes((p_295580_) -> {
+         return start(p_295580_.getSource(), IntegerArgumentType.getInteger(p_295580_, "count"), DEFAULT_DURATION);
+      }).then(Commands.argument("duration", IntegerArgumentType.integer(0)).executes((p_295581_) -> {
+         return start(p_295581_.getSource(), IntegerArgumentType.getInteger(p_295581_, "count"), IntegerArgumentType.getInteger(p_295581_, "duration"));
+      })))).then(Commands.literal("stop").executes((p_295582_) -> {
+         return stop(p_295582_.getSource());
+      })));
+   }
+
+   private static int start(CommandSourceStack p_295583_, int p_295584_, int p_295585_) throws CommandSyntaxException {
+      MinecraftServer minecraftserver = p_295583_.getServer();
+      if (minecraftserver.isBotHarnessRunning()) {
+         throw ERROR_ALREADY_RUNNING.create();
+      } else if (!minecraftserver.isPublished() || minecraftserver.getPort() < 0) {
+         throw ERROR_NOT_PUBLISHED.create();
+      } else if (minecraftserver.usesAuthentication()) {
+         throw ERROR_ONLINE_MODE.create();
+      } else {
+         String s = minecraftserver.getLocalIp();
+         InetSocketAddress inetsocketaddress = StringUtil.isNullOrEmpty(s) ? new InetSocketAddress(InetAddress.getLoopbackAddress(), minecraftserver.getPort()) : new InetSocketAddress(s, minecraftserver.getPort());
+         minecraftserver.startBotHarness(BotHarness.remote(inetsocketaddress, new BotHarness.Settings(p_295584_, "Bot", p_295585_, 10, 10, 32.0D, 20, 5)));
+         p_295583_.sendSuccess(() -> {
+            return Component.literal("Started " + p_295584_ + " bots");
+         }, true);
+         return p_295584_;
+      }
+   }
+
+   private static int stop(CommandSourceStack p_295586_) throws CommandSyntaxException {
+      MinecraftServer minecraftserver = p_295586_.getServer();
+      if (!minecraftserver.isBotHarnessRunning()) {
+         throw ERROR_NOT_RUNNING.create();
+      } else {
+         minecraftserver.stopBotHarness();
+         p_295586_.sendSuccess(() -> {
+            return Component.literal("Stopped bots");
+         }, true);
+         return 1;
+      }
+   }
+}
@@ -4,6 +4,8 @@ import com.google.common.collect.Lists;
 import com.mojang.authlib.GameProfile;
 import com.mojang.datafixers.DataFixer;
 import com.mojang.logging.LogUtils;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.WriteBufferWaterMark;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -26,6 +28,7 @@ import net.minecraft.SystemReport;
 import net.minecraft.Util;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.ConsoleInput;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.ServerInterface;
@@ -50,6 +53,7 @@ import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.SkullBlockEntity;
+import net.minecraft.world.level.chunk.storage.RegionFileVersion;
 import net.minecraft.world.level.storage.LevelStorageSource;
 import org.slf4j.Logger;
 
@@ -231,6 +235,29 @@ public class DedicatedServer extends MinecraftServer implements ServerInterface
 
       try (Writer writer = Files.newBufferedWriter(p_142872_)) {
          writer.write(String.format(Locale.ROOT, "sync-chunk-writes=%s%n", dedicatedserverproperties.syncChunkWrites));
+         writer.write(String.format(Locale.ROOT, "region-file-compression=%s%n", dedicatedserverproperties.regionFileCompression));
+         writer.write(String.format(Locale.ROOT, "region-file-compression-overrides=%s%n", dedicatedserverproperties.regionFileCompressionOverrides));
+         writer.write(String.format(Locale.ROOT, "region-io-threads=%d%n", dedicatedserverproperties.regionIoThreads));
+         writer.write(String.format(Locale.ROOT, "incremental-autosave-budget-ms=%d%n", dedicatedserverproperties.incrementalAutosaveBudgetMs));
+         writer.write(String.format(Locale.ROOT, "deferred-chunk-serialization=%s%n", dedicatedserverproperties.deferredChunkSerialization));
+         writer.write(String.format(Locale.ROOT, "chunk-prefetch-budget=%d%n", dedicatedserverproperties.chunkPrefetchBudget));
+         writer.write(String.format(Locale.ROOT, "chunk-send-congestion-control=%s%n", dedicatedserverproperties.chunkSendCongestionControl));
+         writer.write(String.format(Locale.ROOT, "chunk-send-budget=%d%n", dedicatedserverproperties.chunkSendBudget));
+         writer.write(String.format(Locale.ROOT, "chunk-packet-cache-size=%d%n", dedicatedserverproperties.chunkPacketCacheSize));
+         writer.write(String.format(Locale.ROOT, "entity-broadcast-fanout=%s%n", dedicatedserverproperties.entityBroadcastFanout));
+         writer.write(String.format(Locale.ROOT, "network-compression-level=%d%n", dedicatedserverproperties.networkCompressionLevel));
+         writer.write(String.format(Locale.ROOT, "chunk-compression-level=%d%n", dedicatedserverproperties.chunkCompressionLevel));
+         writer.write(String.format(Locale.ROOT, "packet-coalescing=%s%n", dedicatedserverproperties.packetCoalescing));
+         writer.write(String.format(Locale.ROOT, "block-update-resync-threshold=%d%n", dedicatedserverproperties.blockUpdateResyncThreshold));
+         writer.write(String.format(Locale.ROOT, "block-update-batch-ticks=%d%n", dedicatedserverproperties.blockUpdateBatchTicks));
+         writer.write(String.format(Locale.ROOT, "block-update-batch-distance=%d%n", dedicatedserverproperties.blockUpdateBatchDistance));
+         writer.write(String.format(Locale.ROOT, "entity-tracking-lod-start=%d%n", dedicatedserverproperties.entityTrackingLodStart));
+         writer.write(String.format(Locale.ROOT, "network-io-threads=%d%n", dedicatedserverproperties.networkIoThreads));
+         writer.write(String.format(Locale.ROOT, "network-write-buffer-low-water-mark=%d%n", dedicatedserverproperties.networkWriteBufferLowWaterMark));
+         writer.write(String.format(Locale.ROOT, "network-write-buffer-high-water-mark=%d%n", dedicatedserverproperties.networkWriteBufferHighWaterMark));
+         writer.write(String.format(Locale.ROOT, "network-buffer-allocator=%s%n", dedicatedserverproperties.networkBufferAllocator));
+         writer.write(String.format(Locale.ROOT, "async-packet-validation=%s%n", dedicatedserverproperties.asyncPacketValidation));
+         writer.write(String.format(Locale.ROOT, "sparse-random-ticking=%s%n", dedicatedserverproperties.sparseRandomTicking));
          writer.write(String.format(Locale.ROOT, "gamemode=%s%n", dedicatedserverproperties.gamemode));
          writer.write(String.format(Locale.ROOT, "spawn-monsters=%s%n", dedicatedserverproperties.spawnMonsters));
          writer.write(String.format(Locale.ROOT, "entity-broadcast-range-percentage=%d%n", dedicatedserverproperties.entityBroadcastRangePercentage));
@@ -477,6 +504,92 @@ public class DedicatedServer extends MinecraftServer implements ServerInterface
       return this.getProperties().maxChainedNeighborUpdates;
    }
 
+   public long getIncrementalAutosaveBudgetNanos() {
+      return (long)this.getProperties().incrementalAutosaveBudgetMs * 1000000L;
+   }
+
+   public boolean isChunkSerializationDeferred() {
+      return this.getProperties().deferredChunkSerialization;
+   }
+
+   public int getChunkPrefetchBudget() {
+      return this.getProperties().chunkPrefetchBudget;
+   }
+
+   public boolean isChunkSendCongestionControlEnabled() {
+      return this.getProperties().chunkSendCongestionControl;
+   }
+
+   public int getChunkSendBudget() {
+      return this.getProperties().chunkSendBudget;
+   }
+
+   public int getChunkPacketCacheSize() {
+      return this.getProperties().chunkPacketCacheSize;
+   }
+
+   public boolean isEntityBroadcastFanoutEnabled() {
+      return this.getProperties().entityBroadcastFanout;
+   }
+
+   public boolean isPacketCoalescingEnabled() {
+      return this.getProperties().packetCoalescing;
+   }
+
+   public int getBlockUpdateResyncThreshold() {
+      return this.getProperties().blockUpdateResyncThreshold;
+   }
+
+   public int getBlockUpdateBatchTicks() {
+      return this.getProperties().blockUpdateBatchTicks;
+   }
+
+   public int getBlockUpdateBatchDistance() {
+      return this.getProperties().blockUpdateBatchDistance;
+   }
+
+   public int getEntityTrackingLodStart() {
+      return this.getProperties().entityTrackingLodStart;
+   }
+
+   public boolean isAsyncPacketValidationEnabled() {
+      return this.getProperties().asyncPacketValidation;
+   }
+
+   public boolean isSparseRandomTickingEnabled() {
+      return this.getProperties().sparseRandomTicking;
+   }
+
+   public RegionFileVersion getRegionFileVersion(ResourceKey<Level> p_295362_) {
+      return this.getProperties().getRegionFileVersion(p_295362_);
+   }
+
+   public int getRegionIoThreads() {
+      return this.getProperties().regionIoThreads;
+   }
+
+   public int getNetworkCompressionLevel() {
+      return this.getProperties().networkCompressionLevel;
+   }
+
+   public int getChunkCompressionLevel() {
+      return this.getProperties().chunkCompressionLevel;
+   }
+
+   public int getNetworkIoThreads() {
+      return this.getProperties().networkIoThreads;
+   }
+
+   public WriteBufferWaterMark getNetworkWriteBufferWaterMark() {
+      int i = this.getProperties().networkWriteBufferLowWaterMark * 1024;
+      return new WriteBufferWaterMark(i, Math.max(this.getProperties().networkWriteBufferHighWaterMark * 1024, i));
+   }
+
+   @Nullable
+   public ByteBufAllocator getNetworkBufferAllocator() {
+      return this.getProperties().getNetworkBufferAllocator();
+   }
+
    public String getPluginNames() {
       return "";
    }
@@ -7,6 +7,9 @@ import com.google.gson.JsonObject;
 import com.mojang.logging.LogUtils;
 import com.mojang.serialization.Dynamic;
 import com.mojang.serialization.JsonOps;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
@@ -33,7 +36,9 @@ import net.minecraft.world.flag.FeatureFlagSet;
 import net.minecraft.world.flag.FeatureFlags;
 import net.minecraft.world.level.DataPackConfig;
 import net.minecraft.world.level.GameType;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.WorldDataConfiguration;
+import net.minecraft.world.level.chunk.storage.RegionFileVersion;
 import net.minecraft.world.level.levelgen.FlatLevelSource;
 import net.minecraft.world.level.levelgen.WorldDimensions;
 import net.minecraft.world.level.levelgen.WorldOptions;
@@ -88,6 +93,57 @@ public class DedicatedServerProperties extends Settings<DedicatedServerPropertie
       return Mth.clamp(p_139771_, 1, 29999984);
    }, 29999984);
    public final boolean syncChunkWrites = this.get("sync-chunk-writes", true);
+   public final String regionFileCompression = this.get("region-file-compression", "deflate");
+   public final String regionFileCompressionOverrides = this.get("region-file-compression-overrides", "");
+   public final int regionIoThreads = this.get("region-io-threads", (p_295125_) -> {
+      return Mth.clamp(p_295125_, 1, 16);
+   }, 1);
+   public final int incrementalAutosaveBudgetMs = this.get("incremental-autosave-budget-ms", (p_295126_) -> {
+      return Mth.clamp(p_295126_, 0, 50);
+   }, 0);
+   public final boolean deferredChunkSerialization = this.get("deferred-chunk-serialization", false);
+   public final int chunkPrefetchBudget = this.get("chunk-prefetch-budget", (p_295205_) -> {
+      return Mth.clamp(p_295205_, 0, 256);
+   }, 0);
+   public final boolean chunkSendCongestionControl = this.get("chunk-send-congestion-control", false);
+   public final int chunkSendBudget = this.get("chunk-send-budget", (p_295215_) -> {
+      return Math.max(p_295215_, 0);
+   }, 0);
+   public final int chunkPacketCacheSize = this.get("chunk-packet-cache-size", (p_295216_) -> {
+      return Mth.clamp(p_295216_, 0, 65536);
+   }, 0);
+   public final boolean entityBroadcastFanout = this.get("entity-broadcast-fanout", false);
+   public final int networkCompressionLevel = this.get("network-compression-level", (p_295261_) -> {
+      return Mth.clamp(p_295261_, -1, 9);
+   }, -1);
+   public final int chunkCompressionLevel = this.get("chunk-compression-level", (p_295262_) -> {
+      return Mth.clamp(p_295262_, -1, 9);
+   }, -1);
+   public final boolean packetCoalescing = this.get("packet-coalescing", false);
+   public final int blockUpdateResyncThreshold = this.get("block-update-resync-threshold", (p_295277_) -> {
+      return Math.max(p_295277_, 0);
+   }, 0);
+   public final int blockUpdateBatchTicks = this.get("block-update-batch-ticks", (p_295278_) -> {
+      return Mth.clamp(p_295278_, 0, 20);
+   }, 0);
+   public final int blockUpdateBatchDistance = this.get("block-update-batch-distance", (p_295279_) -> {
+      return Mth.clamp(p_295279_, 2, 32);
+   }, 8);
+   public final int entityTrackingLodStart = this.get("entity-tracking-lod-start", (p_295282_) -> {
+      return Mth.clamp(p_295282_, 0, 100);
+   }, 0);
+   public final int networkIoThreads = this.get("network-io-threads", (p_295288_) -> {
+      return Mth.clamp(p_295288_, 0, 64);
+   }, 0);
+   public final int networkWriteBufferLowWaterMark = this.get("network-write-buffer-low-water-mark", (p_295289_) -> {
+      return Mth.clamp(p_295289_, 1, 65536);
+   }, 32);
+   public final int networkWriteBufferHighWaterMark = this.get("network-write-buffer-high-water-mark", (p_295290_) -> {
+      return Mth.clamp(p_295290_, 1, 65536);
+   }, 64);
+   public final String networkBufferAllocator = this.get("network-buffer-allocator", "");
+   public final boolean asyncPacketValidation = this.get("async-packet-validation", false);
+   public final boolean sparseRandomTicking = this.get("sparse-random-ticking", false);
    public final boolean enableJmxMonitoring = this.get("enable-jmx-monitoring", false);
    public final boolean enableStatus = this.get("enable-status", true);
    public final boolean hideOnlinePlayers = this.get("hide-online-players", false);
@@ -186,6 +242,31 @@ public class DedicatedServerProperties extends Settings<DedicatedServerPropertie
       }).collect(Collectors.toList()));
    }
 
+   @Nullable
+   public ByteBufAllocator getNetworkBufferAllocator() {
+      switch (this.networkBufferAllocator.toLowerCase(Locale.ROOT)) {
+         case "pooled":
+            return PooledByteBufAllocator.DEFAULT;
+         case "unpooled":
+            return UnpooledByteBufAllocator.DEFAULT;
+         default:
+            return null;
+      }
+   }
+
+   public RegionFileVersion getRegionFileVersion(ResourceKey<Level> p_295363_) {
+      String s = this.regionFileCompression;
+
+      for(String s1 : COMMA_SPLITTER.omitEmptyStrings().split(this.regionFileCompressionOverrides)) {
+         int i = s1.indexOf(61);
+         if (i > 0 && p_295363_.location().equals(ResourceLocation.tryParse(s1.substring(0, i).trim()))) {
+            s = s1.substring(i + 1).trim();
+         }
+      }
+
+      return RegionFileVersion.fromNameOrDefault(s);
+   }
+
    public WorldDimensions createDimensions(RegistryAccess p_250466_) {
       return this.worldDimensionData.create(p_250466_);
    }
@@ -3,11 +3,14 @@ package net.minecraft.server.level;
 import com.mojang.datafixers.util.Either;
 import com.mojang.datafixers.util.Pair;
 import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import it.unimi.dsi.fastutil.shorts.ShortSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReferenceArray;
@@ -21,6 +24,7 @@ import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundLightUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.DebugBuffer;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
@@ -56,7 +60,12 @@ public class ChunkHolder {
    private int queueLevel;
    final ChunkPos pos;
    private boolean hasChangedSections;
+   private int contentVersion;
    private final ShortSet[] changedBlocksPerSection;
+   @Nullable
+   private ShortSet[] deferredBlocksPerSection;
+   private final Set<ServerPlayer> deferredViewers = new ReferenceOpenHashSet<>();
+   private long deferredSince;
    private final BitSet blockChangedLightSectionFilter = new BitSet();
    private final BitSet skyChangedLightSectionFilter = new BitSet();
    private final LevelLightEngine lightEngine;
@@ -157,6 +166,7 @@ public class ChunkHolder {
    }
 
    public void blockChanged(BlockPos p_140057_) {
+      ++this.contentVersion;
       LevelChunk levelchunk = this.getTickingChunk();
       if (levelchunk != null) {
          int i = this.levelHeightAccessor.getSectionIndex(p_140057_.getY());
@@ -170,6 +180,7 @@ public class ChunkHolder {
    }
 
    public void sectionLightChanged(LightLayer p_140037_, int p_140038_) {
+      ++this.contentVersion;
       Either<ChunkAccess, ChunkHolder.ChunkLoadingFailure> either = this.getFutureIfPresent(ChunkStatus.INITIALIZE_LIGHT).getNow((Either<ChunkAccess, ChunkHolder.ChunkLoadingFailure>)null);
       if (either != null) {
          ChunkAccess chunkaccess = either.left().orElse((ChunkAccess)null);
@@ -193,8 +204,16 @@ public class ChunkHolder {
       }
    }
 
+   public int getContentVersion() {
+      return this.contentVersion;
+   }
+
+   public void markContentChanged() {
+      ++this.contentVersion;
+   }
+
    public void broadcastChanges(LevelChunk p_140055_) {
-      if (this.hasChangedSections || !this.skyChangedLightSectionFilter.isEmpty() || !this.blockChangedLightSectionFilter.isEmpty()) {
+      if (this.hasChangedSections || this.deferredBlocksPerSection != null || !this.skyChangedLightSectionFilter.isEmpty() || !this.blockChangedLightSectionFilter.isEmpty()) {
          Level level = p_140055_.getLevel();
          if (!this.skyChangedLightSectionFilter.isEmpty() || !this.blockChangedLightSectionFilter.isEmpty()) {
             List<ServerPlayer> list = this.playerProvider.getPlayers(this.pos, true);
@@ -207,29 +226,66 @@ public class ChunkHolder {
             this.blockChangedLightSectionFilter.clear();
          }
 
-         if (this.hasChangedSections) {
+         if (this.hasChangedSections || this.deferredBlocksPerSection != null) {
             List<ServerPlayer> list1 = this.playerProvider.getPlayers(this.pos, false);
+            MinecraftServer minecraftserver = level.getServer();
+            int k = minecraftserver.getBlockUpdateResyncThreshold();
+            int l = minecraftserver.getBlockUpdateBatchTicks();
+            if (this.hasChangedSections && k > 0 && countChangedBlocks(this.changedBlocksPerSection) >= k) {
+               Arrays.fill(this.changedBlocksPerSection, (Object)null);
+               this.deferredBlocksPerSection = null;
+               this.deferredViewers.clear();
+               if (!list1.isEmpty()) {
+                  this.broadcast(list1, ((ServerLevel)level).getChunkSource().chunkMap.getChunkPacketCache().getPacket(p_140055_));
+               }
+            } else {
+               List<ServerPlayer> list2 = list1;
+               List<ServerPlayer> list3 = List.of();
+               int i1 = minecraftserver.getBlockUpdateBatchDistance();
+               if (l > 0 && !list1.isEmpty()) {
+                  list2 = new ArrayList<>(list1.size());
+                  list3 = new ArrayList<>();
+
+                  for(ServerPlayer serverplayer : list1) {
+                     if (this.isFarFrom(serverplayer, i1)) {
+                        list3.add(serverplayer);
+                     } else {
+                        list2.add(serverplayer);
+                     }
+                  }
+               }
 
-            for(int j = 0; j < this.changedBlocksPerSection.length; ++j) {
-               ShortSet shortset = this.changedBlocksPerSection[j];
-               if (shortset != null) {
-                  this.changedBlocksPerSection[j] = null;
-                  if (!list1.isEmpty()) {
-                     int i = this.levelHeightAccessor.getSectionYFromSectionIndex(j);
-                     SectionPos sectionpos = SectionPos.of(p_140055_.getPos(), i);
-                     if (shortset.size() == 1) {
-                        BlockPos blockpos = sectionpos.relativeToBlockPos(shortset.iterator().nextShort());
-                        BlockState blockstate = level.getBlockState(blockpos);
-                        this.broadcast(list1, new ClientboundBlockUpdatePacket(blockpos, blockstate));
-                        this.broadcastBlockEntityIfNeeded(list1, level, blockpos, blockstate);
+               if (this.hasChangedSections) {
+                  if (!list3.isEmpty()) {
+                     this.deferChanges(list3, level.getGameTime());
+                  }
+
+                  this.broadcastBlockChanges(list2, level, p_140055_, this.changedBlocksPerSection);
+                  Arrays.fill(this.changedBlocksPerSection, (Object)null);
+               }
+
+               if (this.deferredBlocksPerSection != null) {
+                  boolean flag = l <= 0 || level.getGameTime() - this.deferredSince >= (long)l;
+                  Set<ServerPlayer> set = new ReferenceOpenHashSet<>(list1);
+                  List<ServerPlayer> list4 = new ArrayList<>();
+                  this.deferredViewers.removeIf((p_295267_) -> {
+                     if (!flag && this.isFarFrom(p_295267_, i1)) {
+                        return false;
                      } else {
-                        LevelChunkSection levelchunksection = p_140055_.getSection(j);
-                        ClientboundSectionBlocksUpdatePacket clientboundsectionblocksupdatepacket = new ClientboundSectionBlocksUpdatePacket(sectionpos, shortset, levelchunksection);
-                        this.broadcast(list1, clientboundsectionblocksupdatepacket);
-                        clientboundsectionblocksupdatepacket.runUpdates((p_288761_, p_288762_) -> {
-                           this.broadcastBlockEntityIfNeeded(list1, level, p_288761_, p_288762_);
-                        });
+                        if (set.contains(p_295267_)) {
+                           list4.add(p_295267_);
+                        }
+
+                        return true;
                      }
+                  });
+                  if (!list4.isEmpty()) {
+                     this.broadcastBlockChanges(list4, level, p_140055_, this.deferredBlocksPerSection);
+                  }
+
+                  if (flag || this.deferredViewers.isEmpty()) {
+                     this.deferredBlocksPerSection = null;
+                     this.deferredViewers.clear();
                   }
                }
             }
@@ -239,6 +295,69 @@ public class ChunkHolder {
       }
    }
 
+   private boolean isFarFrom(ServerPlayer p_295268_, int p_295269_) {
+      ChunkPos chunkpos = p_295268_.chunkPosition();
+      return Math.max(Math.abs(chunkpos.x - this.pos.x), Math.abs(chunkpos.z - this.pos.z)) > p_295269_;
+   }
+
+   private void deferChanges(List<ServerPlayer> p_295270_, long p_295271_) {
+      if (this.deferredBlocksPerSection == null) {
+         this.deferredBlocksPerSection = new ShortSet[this.changedBlocksPerSection.length];
+         this.deferredSince = p_295271_;
+      }
+
+      for(int i = 0; i < this.changedBlocksPerSection.length; ++i) {
+         ShortSet shortset = this.changedBlocksPerSection[i];
+         if (shortset != null) {
+            if (this.deferredBlocksPerSection[i] == null) {
+               this.deferredBlocksPerSection[i] = new ShortOpenHashSet(shortset);
+            } else {
+               this.deferredBlocksPerSection[i].addAll(shortset);
+            }
+         }
+      }
+
+      this.deferredViewers.addAll(p_295270_);
+   }
+
+   private static int countChangedBlocks(ShortSet[] p_295272_) {
+      int i = 0;
+
+      for(ShortSet shortset : p_295272_) {
+         if (shortset != null) {
+            i += shortset.size();
+         }
+      }
+
+      return i;
+   }
+
+   private void broadcastBlockChanges(List<ServerPlayer> p_295273_, Level p_295274_, LevelChunk p_295275_, ShortSet[] p_295276_) {
+      if (!p_295273_.isEmpty()) {
+         for(int i = 0; i < p_295276_.length; ++i) {
+            ShortSet shortset = p_295276_[i];
+            if (shortset != null) {
+               int j = this.levelHeightAccessor.getSectionYFromSectionIndex(i);
+               SectionPos sectionpos = SectionPos.of(p_295275_.getPos(), j);
+               if (shortset.size() == 1) {
+                  BlockPos blockpos = sectionpos.relativeToBlockPos(shortset.iterator().nextShort());
+                  BlockState blockstate = p_295274_.getBlockState(blockpos);
+                  this.broadcast(p_295273_, new ClientboundBlockUpdatePacket(blockpos, blockstate));
+                  this.broadcastBlockEntityIfNeeded(p_295273_, p_295274_, blockpos, blockstate);
+               } else {
+                  LevelChunkSection levelchunksection = p_295275_.getSection(i);
+                  ClientboundSectionBlocksUpdatePacket clientboundsectionblocksupdatepacket = new ClientboundSectionBlocksUpdatePacket(sectionpos, shortset, levelchunksection);
+                  this.broadcast(p_295273_, clientboundsectionblocksupdatepacket);
+                  clientboundsectionblocksupdatepacket.runUpdates((p_288761_, p_288762_) -> {
+                     this.broadcastBlockEntityIfNeeded(p_295273_, p_295274_, p_288761_, p_288762_);
+                  });
+               }
+            }
+         }
+
+      }
+   }
+
    private void broadcastBlockEntityIfNeeded(List<ServerPlayer> p_288982_, Level p_289011_, BlockPos p_288969_, BlockState p_288973_) {
       if (p_288973_.hasBlockEntity()) {
          this.broadcastBlockEntity(p_288982_, p_289011_, p_288969_);
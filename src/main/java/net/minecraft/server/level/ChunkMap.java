@@ -3,6 +3,7 @@ package net.minecraft.server.level;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 import com.google.gson.JsonElement;
@@ -20,6 +21,7 @@ import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
@@ -56,8 +58,13 @@ import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundChunksBiomesPacket;
+import net.minecraft.network.protocol.game.ClientboundMoveEntityPacket;
 import net.minecraft.network.protocol.game.ClientboundSetChunkCacheCenterPacket;
+import net.minecraft.network.protocol.game.ClientboundTeleportEntityPacket;
+import net.minecraft.network.protocol.game.VecDeltaCodec;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.progress.ChunkProgressListener;
+import net.minecraft.server.network.PacketFanout;
 import net.minecraft.server.network.ServerPlayerConnection;
 import net.minecraft.util.CsvOutput;
 import net.minecraft.util.Mth;
@@ -77,6 +84,7 @@ import net.minecraft.world.level.chunk.ChunkGeneratorStructureState;
 import net.minecraft.world.level.chunk.ChunkStatus;
 import net.minecraft.world.level.chunk.ImposterProtoChunk;
 import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.chunk.LightChunkGetter;
 import net.minecraft.world.level.chunk.ProtoChunk;
 import net.minecraft.world.level.chunk.UpgradeData;
@@ -126,18 +134,23 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
    private final ChunkProgressListener progressListener;
    private final ChunkStatusUpdateListener chunkStatusListener;
    private final ChunkMap.DistanceManager distanceManager;
+   private final ChunkPrefetcher chunkPrefetcher;
+   private final ChunkPacketCache chunkPacketCache;
    private final AtomicInteger tickingGenerated = new AtomicInteger();
    private final StructureTemplateManager structureTemplateManager;
    private final String storageName;
    private final PlayerMap playerMap = new PlayerMap();
    private final Int2ObjectMap<ChunkMap.TrackedEntity> entityMap = new Int2ObjectOpenHashMap<>();
+   private final Long2ObjectMap<Set<ChunkMap.TrackedEntity>> entitiesByChunk = new Long2ObjectOpenHashMap<>();
+   private final Map<ServerPlayerConnection, Set<ChunkMap.TrackedEntity>> entitiesBySeer = Maps.newIdentityHashMap();
    private final Long2ByteMap chunkTypeCache = new Long2ByteOpenHashMap();
    private final Long2LongMap chunkSaveCooldowns = new Long2LongOpenHashMap();
+   private final LongLinkedOpenHashSet pendingAutosaves = new LongLinkedOpenHashSet();
    private final Queue<Runnable> unloadQueue = Queues.newConcurrentLinkedQueue();
    private int serverViewDistance;
 
    public ChunkMap(ServerLevel p_214836_, LevelStorageSource.LevelStorageAccess p_214837_, DataFixer p_214838_, StructureTemplateManager p_214839_, Executor p_214840_, BlockableEventLoop<Runnable> p_214841_, LightChunkGetter p_214842_, ChunkGenerator p_214843_, ChunkProgressListener p_214844_, ChunkStatusUpdateListener p_214845_, Supplier<DimensionDataStorage> p_214846_, int p_214847_, boolean p_214848_) {
-      super(p_214837_.getDimensionPath(p_214836_.dimension()).resolve("region"), p_214838_, p_214848_);
+      super(p_214837_.getDimensionPath(p_214836_.dimension()).resolve("region"), p_214838_, p_214848_, p_214836_.getServer().getRegionFileVersion(p_214836_.dimension()), p_214836_.getServer().getRegionIoThreads());
       this.structureTemplateManager = p_214839_;
       Path path = p_214837_.getDimensionPath(p_214836_.dimension());
       this.storageName = path.getFileName().toString();
@@ -163,8 +176,10 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
       this.mainThreadMailbox = this.queueSorter.getProcessor(processorhandle, false);
       this.lightEngine = new ThreadedLevelLightEngine(p_214842_, this, this.level.dimensionType().hasSkyLight(), processormailbox, this.queueSorter.getProcessor(processormailbox, false));
       this.distanceManager = new ChunkMap.DistanceManager(p_214840_, p_214841_);
+      this.chunkPrefetcher = new ChunkPrefetcher(this.level, this.distanceManager, this::getPlayerViewDistance);
+      this.chunkPacketCache = new ChunkPacketCache(this.level, this::getVisibleChunkIfPresent);
       this.overworldDataStorage = p_214846_;
-      this.poiManager = new PoiManager(path.resolve("poi"), p_214838_, p_214848_, registryaccess, p_214836_);
+      this.poiManager = new PoiManager(path.resolve("poi"), p_214838_, p_214848_, registryaccess, p_214836_, p_214836_.getServer().getRegionFileVersion(p_214836_.dimension()), p_214836_.getServer().getRegionIoThreads());
       this.setServerViewDistance(p_214847_);
    }
 
@@ -407,6 +422,10 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
    }
 
    protected void saveAllChunks(boolean p_140319_) {
+      this.saveAllChunks(p_140319_, false);
+   }
+
+   protected void saveAllChunks(boolean p_140319_, boolean p_295364_) {
       if (p_140319_) {
          List<ChunkHolder> list = this.visibleChunkMap.values().stream().filter(ChunkHolder::wasAccessibleSinceLastSave).peek(ChunkHolder::refreshAccessibility).toList();
          MutableBoolean mutableboolean = new MutableBoolean();
@@ -431,8 +450,16 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
          this.processUnloads(() -> {
             return true;
          });
+         this.pendingAutosaves.clear();
          this.flushWorker();
+      } else if (p_295364_ && this.level.getServer().getIncrementalAutosaveBudgetNanos() > 0L) {
+         for(ChunkHolder chunkholder : this.visibleChunkMap.values()) {
+            if (chunkholder.wasAccessibleSinceLastSave()) {
+               this.pendingAutosaves.add(chunkholder.getPos().toLong());
+            }
+         }
       } else {
+         this.pendingAutosaves.clear();
          this.visibleChunkMap.values().forEach(this::saveChunkIfNeeded);
       }
 
@@ -447,9 +474,38 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
          this.processUnloads(p_140281_);
       }
 
+      profilerfiller.popPush("chunk_autosave");
+      if (!this.level.noSave()) {
+         this.processPendingAutosaves();
+      }
+
+      profilerfiller.popPush("chunk_prefetch");
+      this.chunkPrefetcher.tick(this.level.getServer().getChunkPrefetchBudget());
       profilerfiller.pop();
    }
 
+   private void processPendingAutosaves() {
+      if (!this.pendingAutosaves.isEmpty()) {
+         long i = Util.getNanos() + this.level.getServer().getIncrementalAutosaveBudgetNanos();
+
+         do {
+            ChunkHolder chunkholder = this.visibleChunkMap.get(this.pendingAutosaves.removeFirstLong());
+            if (chunkholder != null) {
+               this.saveChunkIfNeeded(chunkholder);
+            }
+         } while(!this.pendingAutosaves.isEmpty() && Util.getNanos() < i);
+
+      }
+   }
+
+   public ChunkPrefetcher getChunkPrefetcher() {
+      return this.chunkPrefetcher;
+   }
+
+   public ChunkPacketCache getChunkPacketCache() {
+      return this.chunkPacketCache;
+   }
+
    public boolean hasWork() {
       return this.lightEngine.hasLightWork() || !this.pendingUnloads.isEmpty() || !this.updatingChunkMap.isEmpty() || this.poiManager.hasWork() || !this.toDrop.isEmpty() || !this.unloadQueue.isEmpty() || this.queueSorter.hasWork() || this.distanceManager.hasTickets();
    }
@@ -822,8 +878,13 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
             }
 
             this.level.getProfiler().incrementCounter("chunkSave");
-            CompoundTag compoundtag = ChunkSerializer.write(this.level, p_140259_);
-            this.write(chunkpos, compoundtag);
+            if (chunkstatus.getChunkType() == ChunkStatus.ChunkType.LEVELCHUNK && this.level.getServer().isChunkSerializationDeferred()) {
+               this.write(chunkpos, ChunkSerializer.write(this.level, p_140259_, true));
+            } else {
+               CompoundTag compoundtag = ChunkSerializer.write(this.level, p_140259_);
+               this.write(chunkpos, compoundtag);
+            }
+
             this.markPosition(chunkpos, chunkstatus.getChunkType());
             return true;
          } catch (Exception exception) {
@@ -1029,14 +1090,13 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
    }
 
    public void move(ServerPlayer p_140185_) {
-      for(ChunkMap.TrackedEntity chunkmap$trackedentity : this.entityMap.values()) {
-         if (chunkmap$trackedentity.entity == p_140185_) {
-            chunkmap$trackedentity.updatePlayers(this.level.players());
-         } else {
-            chunkmap$trackedentity.updatePlayer(p_140185_);
-         }
+      ChunkMap.TrackedEntity chunkmap$trackedentity = this.entityMap.get(p_140185_.getId());
+      if (chunkmap$trackedentity != null && chunkmap$trackedentity.entity == p_140185_) {
+         chunkmap$trackedentity.updatePlayers(this.level.players());
       }
 
+      this.updateEntitiesSeenBy(p_140185_);
+
       SectionPos sectionpos = p_140185_.getLastSectionPos();
       SectionPos sectionpos1 = SectionPos.of(p_140185_);
       boolean flag = this.playerMap.ignored(p_140185_);
@@ -1128,16 +1188,12 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
             } else {
                ChunkMap.TrackedEntity chunkmap$trackedentity = new ChunkMap.TrackedEntity(p_140200_, i, j, entitytype.trackDeltas());
                this.entityMap.put(p_140200_.getId(), chunkmap$trackedentity);
+               this.addToChunkIndex(chunkmap$trackedentity);
                chunkmap$trackedentity.updatePlayers(this.level.players());
                if (p_140200_ instanceof ServerPlayer) {
                   ServerPlayer serverplayer = (ServerPlayer)p_140200_;
                   this.updatePlayerStatus(serverplayer, true);
-
-                  for(ChunkMap.TrackedEntity chunkmap$trackedentity1 : this.entityMap.values()) {
-                     if (chunkmap$trackedentity1.entity != serverplayer) {
-                        chunkmap$trackedentity1.updatePlayer(serverplayer);
-                     }
-                  }
+                  this.updateEntitiesSeenBy(serverplayer);
                }
 
             }
@@ -1148,19 +1204,100 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
    protected void removeEntity(Entity p_140332_) {
       if (p_140332_ instanceof ServerPlayer serverplayer) {
          this.updatePlayerStatus(serverplayer, false);
-
-         for(ChunkMap.TrackedEntity chunkmap$trackedentity : this.entityMap.values()) {
-            chunkmap$trackedentity.removePlayer(serverplayer);
+         Set<ChunkMap.TrackedEntity> set = this.entitiesBySeer.get(serverplayer.connection);
+         if (set != null) {
+            for(ChunkMap.TrackedEntity chunkmap$trackedentity : List.copyOf(set)) {
+               chunkmap$trackedentity.removePlayer(serverplayer);
+            }
          }
       }
 
       ChunkMap.TrackedEntity chunkmap$trackedentity1 = this.entityMap.remove(p_140332_.getId());
       if (chunkmap$trackedentity1 != null) {
+         this.removeFromChunkIndex(chunkmap$trackedentity1);
          chunkmap$trackedentity1.broadcastRemoved();
       }
 
    }
 
+   protected void onEntitySectionChange(Entity p_295233_) {
+      ChunkMap.TrackedEntity chunkmap$trackedentity = this.entityMap.get(p_295233_.getId());
+      if (chunkmap$trackedentity != null && chunkmap$trackedentity.entity == p_295233_ && chunkmap$trackedentity.indexedChunk != p_295233_.chunkPosition().toLong()) {
+         this.removeFromChunkIndex(chunkmap$trackedentity);
+         this.addToChunkIndex(chunkmap$trackedentity);
+      }
+
+   }
+
+   private void addToChunkIndex(ChunkMap.TrackedEntity p_295234_) {
+      p_295234_.indexedChunk = p_295234_.entity.chunkPosition().toLong();
+      this.entitiesByChunk.computeIfAbsent(p_295234_.indexedChunk, (p_295235_) -> {
+         return Sets.newIdentityHashSet();
+      }).add(p_295234_);
+   }
+
+   private void removeFromChunkIndex(ChunkMap.TrackedEntity p_295236_) {
+      Set<ChunkMap.TrackedEntity> set = this.entitiesByChunk.get(p_295236_.indexedChunk);
+      if (set != null && set.remove(p_295236_) && set.isEmpty()) {
+         this.entitiesByChunk.remove(p_295236_.indexedChunk);
+      }
+
+   }
+
+   void onSeenByChanged(ChunkMap.TrackedEntity p_295237_, ServerPlayerConnection p_295238_, boolean p_295239_) {
+      if (p_295239_) {
+         this.entitiesBySeer.computeIfAbsent(p_295238_, (p_295240_) -> {
+            return Sets.newIdentityHashSet();
+         }).add(p_295237_);
+      } else {
+         Set<ChunkMap.TrackedEntity> set = this.entitiesBySeer.get(p_295238_);
+         if (set != null && set.remove(p_295237_) && set.isEmpty()) {
+            this.entitiesBySeer.remove(p_295238_);
+         }
+      }
+
+   }
+
+   private void updateEntitiesSeenBy(ServerPlayer p_295241_) {
+      int i = this.getPlayerViewDistance(p_295241_) + 1;
+      int j = 2 * i + 1;
+      if (j * j >= this.entityMap.size()) {
+         for(ChunkMap.TrackedEntity chunkmap$trackedentity : this.entityMap.values()) {
+            if (chunkmap$trackedentity.entity != p_295241_) {
+               chunkmap$trackedentity.updatePlayer(p_295241_);
+            }
+         }
+
+      } else {
+         ChunkPos chunkpos = p_295241_.chunkPosition();
+
+         for(int k = chunkpos.x - i; k <= chunkpos.x + i; ++k) {
+            for(int l = chunkpos.z - i; l <= chunkpos.z + i; ++l) {
+               Set<ChunkMap.TrackedEntity> set = this.entitiesByChunk.get(ChunkPos.asLong(k, l));
+               if (set != null) {
+                  for(ChunkMap.TrackedEntity chunkmap$trackedentity1 : set) {
+                     if (chunkmap$trackedentity1.entity != p_295241_) {
+                        chunkmap$trackedentity1.updatePlayer(p_295241_);
+                     }
+                  }
+               }
+            }
+         }
+
+         Set<ChunkMap.TrackedEntity> set1 = this.entitiesBySeer.get(p_295241_.connection);
+         if (set1 != null) {
+            for(ChunkMap.TrackedEntity chunkmap$trackedentity2 : List.copyOf(set1)) {
+               int i1 = ChunkPos.getX(chunkmap$trackedentity2.indexedChunk);
+               int j1 = ChunkPos.getZ(chunkmap$trackedentity2.indexedChunk);
+               if (Math.max(Math.abs(i1 - chunkpos.x), Math.abs(j1 - chunkpos.z)) > i) {
+                  chunkmap$trackedentity2.updatePlayer(p_295241_);
+               }
+            }
+         }
+
+      }
+   }
+
    protected void tick() {
       for(ServerPlayer serverplayer : this.playerMap.getAllPlayers()) {
          this.updateChunkTracking(serverplayer);
@@ -1185,13 +1322,12 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
 
          if (flag || this.distanceManager.inEntityTickingRange(sectionpos1.chunk().toLong())) {
             chunkmap$trackedentity.serverEntity.sendChanges();
+            chunkmap$trackedentity.updateLevelOfDetail();
          }
       }
 
-      if (!list.isEmpty()) {
-         for(ChunkMap.TrackedEntity chunkmap$trackedentity1 : this.entityMap.values()) {
-            chunkmap$trackedentity1.updatePlayers(list);
-         }
+      for(ServerPlayer serverplayer1 : list) {
+         this.updateEntitiesSeenBy(serverplayer1);
       }
 
    }
@@ -1224,6 +1360,11 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
             levelchunk = this.level.getChunk(chunkpos.x, chunkpos.z);
          }
 
+         ChunkHolder chunkholder = this.getVisibleChunkIfPresent(chunkpos.toLong());
+         if (chunkholder != null) {
+            chunkholder.markContentChanged();
+         }
+
          for(ServerPlayer serverplayer : this.getPlayers(chunkpos, false)) {
             map.computeIfAbsent(serverplayer, (p_274834_) -> {
                return new ArrayList();
@@ -1245,6 +1386,16 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
    }
 
    void onFullChunkStatusChange(ChunkPos p_287612_, FullChunkStatus p_287685_) {
+      if (!p_287685_.isOrAfter(FullChunkStatus.BLOCK_TICKING)) {
+         ChunkHolder chunkholder = this.getVisibleChunkIfPresent(p_287612_.toLong());
+         LevelChunk levelchunk = chunkholder != null ? chunkholder.getFullChunk() : null;
+         if (levelchunk != null) {
+            for(LevelChunkSection levelchunksection : levelchunk.getSections()) {
+               levelchunksection.releaseRandomTickPositions();
+            }
+         }
+      }
+
       this.chunkStatusListener.onChunkStatusChange(p_287612_, p_287685_);
    }
 
@@ -1283,13 +1434,20 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
       final ServerEntity serverEntity;
       final Entity entity;
       private final int range;
+      private final int updateInterval;
       SectionPos lastSectionPos;
+      long indexedChunk;
       private final Set<ServerPlayerConnection> seenBy = Sets.newIdentityHashSet();
+      @Nullable
+      private PacketFanout fanout;
+      private final Map<ServerPlayerConnection, ChunkMap.FarViewer> farViewers = Maps.newIdentityHashMap();
+      private int lodTicks;
 
       public TrackedEntity(Entity p_140478_, int p_140479_, int p_140480_, boolean p_140481_) {
          this.serverEntity = new ServerEntity(ChunkMap.this.level, p_140478_, p_140480_, p_140481_, this::broadcast);
          this.entity = p_140478_;
          this.range = p_140479_;
+         this.updateInterval = p_140480_;
          this.lastSectionPos = SectionPos.of(p_140478_);
       }
 
@@ -1306,12 +1464,54 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
       }
 
       public void broadcast(Packet<?> p_140490_) {
-         for(ServerPlayerConnection serverplayerconnection : this.seenBy) {
-            serverplayerconnection.send(p_140490_);
+         if (!this.farViewers.isEmpty()) {
+            if (p_140490_ instanceof ClientboundMoveEntityPacket clientboundmoveentitypacket && clientboundmoveentitypacket.hasPosition()) {
+               Packet<?> packet = clientboundmoveentitypacket.hasRotation() ? new ClientboundMoveEntityPacket.Rot(this.entity.getId(), clientboundmoveentitypacket.getyRot(), clientboundmoveentitypacket.getxRot(), clientboundmoveentitypacket.isOnGround()) : null;
+
+               for(ServerPlayerConnection serverplayerconnection1 : this.seenBy) {
+                  if (!this.farViewers.containsKey(serverplayerconnection1)) {
+                     serverplayerconnection1.send(p_140490_);
+                  } else if (packet != null) {
+                     serverplayerconnection1.send(packet);
+                  }
+               }
+
+               return;
+            }
+
+            if (p_140490_ instanceof ClientboundTeleportEntityPacket clientboundteleportentitypacket) {
+               Vec3 vec3 = new Vec3(clientboundteleportentitypacket.getX(), clientboundteleportentitypacket.getY(), clientboundteleportentitypacket.getZ());
+
+               for(ChunkMap.FarViewer chunkmap$farviewer : this.farViewers.values()) {
+                  chunkmap$farviewer.positionCodec.setBase(vec3);
+               }
+            }
+         }
+
+         MinecraftServer minecraftserver = ChunkMap.this.level.getServer();
+         if (this.seenBy.size() > 1 && minecraftserver.isEntityBroadcastFanoutEnabled() && !minecraftserver.isPacketCoalescingEnabled()) {
+            if (this.fanout == null) {
+               this.fanout = PacketFanout.of(this.seenBy);
+            }
+
+            this.fanout.send(p_140490_);
+         } else {
+            for(ServerPlayerConnection serverplayerconnection : this.seenBy) {
+               serverplayerconnection.send(p_140490_);
+            }
          }
 
       }
 
+      private void onSeenByChanged(ServerPlayerConnection p_295252_, boolean p_295253_) {
+         this.fanout = null;
+         if (!p_295253_) {
+            this.farViewers.remove(p_295252_);
+         }
+
+         ChunkMap.this.onSeenByChanged(this, p_295252_, p_295253_);
+      }
+
       public void broadcastAndSend(Packet<?> p_140500_) {
          this.broadcast(p_140500_);
          if (this.entity instanceof ServerPlayer) {
@@ -1323,6 +1523,7 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
       public void broadcastRemoved() {
          for(ServerPlayerConnection serverplayerconnection : this.seenBy) {
             this.serverEntity.removePairing(serverplayerconnection.getPlayer());
+            this.onSeenByChanged(serverplayerconnection, false);
          }
 
       }
@@ -1330,6 +1531,7 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
       public void removePlayer(ServerPlayer p_140486_) {
          if (this.seenBy.remove(p_140486_.connection)) {
             this.serverEntity.removePairing(p_140486_);
+            this.onSeenByChanged(p_140486_.connection, false);
          }
 
       }
@@ -1345,9 +1547,11 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
             if (flag) {
                if (this.seenBy.add(p_140498_.connection)) {
                   this.serverEntity.addPairing(p_140498_);
+                  this.onSeenByChanged(p_140498_.connection, true);
                }
             } else if (this.seenBy.remove(p_140498_.connection)) {
                this.serverEntity.removePairing(p_140498_);
+               this.onSeenByChanged(p_140498_.connection, false);
             }
 
          }
@@ -1376,5 +1580,71 @@ public class ChunkMap extends ChunkStorage implements ChunkHolder.PlayerProvider
          }
 
       }
+
+      void updateLevelOfDetail() {
+         int i = ChunkMap.this.level.getServer().getEntityTrackingLodStart();
+         if (i <= 0 || this.entity instanceof ServerPlayer) {
+            if (!this.farViewers.isEmpty()) {
+               for(ServerPlayerConnection serverplayerconnection : this.farViewers.keySet()) {
+                  serverplayerconnection.send(new ClientboundTeleportEntityPacket(this.entity));
+               }
+
+               this.farViewers.clear();
+            }
+
+         } else if (!this.seenBy.isEmpty()) {
+            ++this.lodTicks;
+            int j = this.getEffectiveRange();
+            Vec3 vec3 = this.entity.trackingPosition();
+
+            for(ServerPlayerConnection serverplayerconnection1 : this.seenBy) {
+               ServerPlayer serverplayer = serverplayerconnection1.getPlayer();
+               double d0 = (double)Math.min(j, ChunkMap.this.getPlayerViewDistance(serverplayer) * 16);
+               double d1 = d0 * (double)i / 100.0D;
+               double d2 = serverplayer.getX() - vec3.x;
+               double d3 = serverplayer.getZ() - vec3.z;
+               double d4 = d2 * d2 + d3 * d3;
+               ChunkMap.FarViewer chunkmap$farviewer = this.farViewers.get(serverplayerconnection1);
+               if (d4 > d1 * d1) {
+                  if (chunkmap$farviewer == null) {
+                     this.farViewers.put(serverplayerconnection1, new ChunkMap.FarViewer(this.serverEntity.getPositionBase(), this.lodTicks));
+                  } else if (!this.entity.isPassenger()) {
+                     double d5 = Mth.clamp((Math.sqrt(d4) - d1) / Math.max(d0 - d1, 1.0D), 0.0D, 1.0D);
+                     int k = this.updateInterval * (2 + Mth.floor(d5 * 2.0D));
+                     if (this.lodTicks - chunkmap$farviewer.lastSent >= k) {
+                        chunkmap$farviewer.lastSent = this.lodTicks;
+                        VecDeltaCodec vecdeltacodec = chunkmap$farviewer.positionCodec;
+                        if (vecdeltacodec.delta(vec3).lengthSqr() >= 9.765625E-4D) {
+                           long l = vecdeltacodec.encodeX(vec3);
+                           long i1 = vecdeltacodec.encodeY(vec3);
+                           long j1 = vecdeltacodec.encodeZ(vec3);
+                           if (l >= -32768L && l <= 32767L && i1 >= -32768L && i1 <= 32767L && j1 >= -32768L && j1 <= 32767L) {
+                              serverplayerconnection1.send(new ClientboundMoveEntityPacket.Pos(this.entity.getId(), (short)((int)l), (short)((int)i1), (short)((int)j1), this.entity.onGround()));
+                           } else {
+                              serverplayerconnection1.send(new ClientboundTeleportEntityPacket(this.entity));
+                           }
+
+                           vecdeltacodec.setBase(vec3);
+                        }
+                     }
+                  }
+               } else if (chunkmap$farviewer != null) {
+                  this.farViewers.remove(serverplayerconnection1);
+                  serverplayerconnection1.send(new ClientboundTeleportEntityPacket(this.entity));
+               }
+            }
+
+         }
+      }
+   }
+
+   static class FarViewer {
+      final VecDeltaCodec positionCodec = new VecDeltaCodec();
+      int lastSent;
+
+      FarViewer(Vec3 p_295280_, int p_295281_) {
+         this.positionCodec.setBase(p_295280_);
+         this.lastSent = p_295281_;
+      }
    }
 }
@@ -0,0 +1,85 @@
+package net.minecraft.server.level;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.LongFunction;
+import net.minecraft.network.PacketEncodingCache;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
+import net.minecraft.util.profiling.metrics.MetricCategory;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.util.profiling.metrics.ProfilerMeasured;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+public class ChunkPacketCache implements ProfilerMeasured {
+   private static final long MAX_AGE_TICKS = 600L;
+   private final ServerLevel level;
+   private final LongFunction<ChunkHolder> holders;
+   private final Long2ObjectLinkedOpenHashMap<ChunkPacketCache.Entry> entries = new Long2ObjectLinkedOpenHashMap<>();
+   private long hits;
+   private long misses;
+
+   public ChunkPacketCache(ServerLevel p_295230_, LongFunction<ChunkHolder> p_295231_) {
+      this.level = p_295230_;
+      this.holders = p_295231_;
+      MetricsRegistry.INSTANCE.add(this);
+   }
+
+   public ClientboundLevelChunkWithLightPacket getPacket(LevelChunk p_295232_) {
+      int i = this.level.getServer().getChunkPacketCacheSize();
+      long j = p_295232_.getPos().toLong();
+      if (i <= 0 && !this.entries.isEmpty()) {
+         this.entries.clear();
+      }
+
+      ChunkHolder chunkholder = i > 0 ? this.holders.apply(j) : null;
+      if (chunkholder == null) {
+         return new ClientboundLevelChunkWithLightPacket(p_295232_, this.level.getLightEngine(), (BitSet)null, (BitSet)null);
+      } else {
+         long k = this.level.getGameTime();
+         int l = chunkholder.getContentVersion();
+         ChunkPacketCache.Entry chunkpacketcache$entry = this.entries.getAndMoveToFirst(j);
+         if (chunkpacketcache$entry != null && chunkpacketcache$entry.chunk == p_295232_ && chunkpacketcache$entry.version == l && k - chunkpacketcache$entry.createdAt <= 600L) {
+            ++this.hits;
+            return chunkpacketcache$entry.packet;
+         } else {
+            ++this.misses;
+            ClientboundLevelChunkWithLightPacket clientboundlevelchunkwithlightpacket = new ClientboundLevelChunkWithLightPacket(p_295232_, this.level.getLightEngine(), (BitSet)null, (BitSet)null, true);
+            this.entries.putAndMoveToFirst(j, new ChunkPacketCache.Entry(p_295232_, l, k, clientboundlevelchunkwithlightpacket));
+
+            while(this.entries.size() > i) {
+               this.entries.removeLast();
+            }
+
+            return clientboundlevelchunkwithlightpacket;
+         }
+      }
+   }
+
+   public long getHits() {
+      return this.hits;
+   }
+
+   public long getMisses() {
+      return this.misses;
+   }
+
+   public int getSize() {
+      return this.entries.size();
+   }
+
+   public double getHitRate() {
+      long i = this.hits + this.misses;
+      return i == 0L ? 0.0D : (double)this.hits / (double)i;
+   }
+
+   public List<MetricSampler> profiledMetrics() {
+      String s = "chunk-packet-cache-" + this.level.dimension().location();
+      return ImmutableList.of(MetricSampler.create(s + "-hits", MetricCategory.CHUNK_IO, this::getHits), MetricSampler.create(s + "-misses", MetricCategory.CHUNK_IO, this::getMisses), MetricSampler.create(s + "-size", MetricCategory.CHUNK_IO, this::getSize), MetricSampler.create(s + "-hit-rate", MetricCategory.CHUNK_IO, this::getHitRate), MetricSampler.create(s + "-encode-reuses", MetricCategory.CHUNK_IO, PacketEncodingCache::getEncodeReuses), MetricSampler.create(s + "-compress-reuses", MetricCategory.CHUNK_IO, PacketEncodingCache::getCompressReuses));
+   }
+
+   static record Entry(LevelChunk chunk, int version, long createdAt, ClientboundLevelChunkWithLightPacket packet) {
+   }
+}
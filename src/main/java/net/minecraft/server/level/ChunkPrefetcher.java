@@ -0,0 +1,251 @@
+package net.minecraft.server.level;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.profiling.metrics.MetricCategory;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.util.profiling.metrics.ProfilerMeasured;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkStatus;
+
+public class ChunkPrefetcher implements ProfilerMeasured {
+   private static final int TICKET_LEVEL = ChunkLevel.byStatus(ChunkStatus.INITIALIZE_LIGHT);
+   private static final double MIN_SPEED_SQR = 0.25D;
+   private static final double TELEPORT_DISTANCE_SQR = 4096.0D;
+   private static final double LOOKAHEAD_TICKS = 40.0D;
+   private static final double CANCEL_TURN_COS = 0.5D;
+   private static final int EXPIRY_TICKS = 100;
+   private static final int MAX_OUTSTANDING_PER_PLAYER = 256;
+   private final ServerLevel level;
+   private final DistanceManager distanceManager;
+   private final ToIntFunction<ServerPlayer> viewDistance;
+   private final Map<ServerPlayer, ChunkPrefetcher.PlayerState> players = Maps.newIdentityHashMap();
+   private final Long2IntOpenHashMap ticketCounts = new Long2IntOpenHashMap();
+   private long tickCount;
+   private long issued;
+   private long hits;
+   private long wasted;
+
+   public ChunkPrefetcher(ServerLevel p_295184_, DistanceManager p_295185_, ToIntFunction<ServerPlayer> p_295186_) {
+      this.level = p_295184_;
+      this.distanceManager = p_295185_;
+      this.viewDistance = p_295186_;
+      MetricsRegistry.INSTANCE.add(this);
+   }
+
+   public void tick(int p_295187_) {
+      if (p_295187_ <= 0) {
+         if (!this.players.isEmpty()) {
+            this.players.values().forEach(this::cancel);
+            this.players.clear();
+         }
+
+      } else {
+         ++this.tickCount;
+         List<ServerPlayer> list = this.level.players();
+         Set<ServerPlayer> set = new ReferenceOpenHashSet<>(list);
+         Iterator<Map.Entry<ServerPlayer, ChunkPrefetcher.PlayerState>> iterator = this.players.entrySet().iterator();
+
+         while(iterator.hasNext()) {
+            Map.Entry<ServerPlayer, ChunkPrefetcher.PlayerState> entry = iterator.next();
+            if (!set.contains(entry.getKey())) {
+               this.cancel(entry.getValue());
+               iterator.remove();
+            }
+         }
+
+         int i = p_295187_;
+         int j = list.size();
+         int k = j == 0 ? 0 : (int)(this.tickCount % (long)j);
+
+         for(int l = 0; l < j; ++l) {
+            ServerPlayer serverplayer = list.get((k + l) % j);
+            ChunkPrefetcher.PlayerState chunkprefetcher$playerstate = this.players.computeIfAbsent(serverplayer, (p_295188_) -> {
+               return new ChunkPrefetcher.PlayerState(p_295188_.getX(), p_295188_.getZ());
+            });
+            i -= this.tickPlayer(serverplayer, chunkprefetcher$playerstate, i);
+         }
+
+      }
+   }
+
+   private int tickPlayer(ServerPlayer p_295189_, ChunkPrefetcher.PlayerState p_295190_, int p_295191_) {
+      double d0 = p_295189_.getX() - p_295190_.lastX;
+      double d1 = p_295189_.getZ() - p_295190_.lastZ;
+      p_295190_.lastX = p_295189_.getX();
+      p_295190_.lastZ = p_295189_.getZ();
+      if (d0 * d0 + d1 * d1 > 4096.0D) {
+         p_295190_.velocityX = 0.0D;
+         p_295190_.velocityZ = 0.0D;
+      } else {
+         p_295190_.velocityX = p_295190_.velocityX * 0.5D + d0 * 0.5D;
+         p_295190_.velocityZ = p_295190_.velocityZ * 0.5D + d1 * 0.5D;
+      }
+
+      int i = this.viewDistance.applyAsInt(p_295189_);
+      ChunkPos chunkpos = p_295189_.chunkPosition();
+      this.updateOutstanding(p_295190_, chunkpos, i);
+      double d2 = p_295190_.velocityX * p_295190_.velocityX + p_295190_.velocityZ * p_295190_.velocityZ;
+      if (d2 < 0.25D) {
+         return 0;
+      } else {
+         double d3 = Math.sqrt(d2);
+         double d4 = p_295190_.velocityX / d3;
+         double d5 = p_295190_.velocityZ / d3;
+         if (!p_295190_.outstanding.isEmpty() && d4 * p_295190_.headingX + d5 * p_295190_.headingZ < 0.5D) {
+            this.cancel(p_295190_);
+         }
+
+         if (p_295191_ > 0 && p_295190_.outstanding.size() < 256) {
+            double d6 = Math.min(d3 * 40.0D, (double)(i * 16));
+            int j = SectionPos.blockToSectionCoord(p_295189_.getX() + d4 * d6);
+            int k = SectionPos.blockToSectionCoord(p_295189_.getZ() + d5 * d6);
+            if (j == chunkpos.x && k == chunkpos.z) {
+               return 0;
+            } else {
+               LongArrayList longarraylist = new LongArrayList();
+
+               for(int l = j - i; l <= j + i; ++l) {
+                  for(int i1 = k - i; i1 <= k + i; ++i1) {
+                     if (chessboardDistance(chunkpos, l, i1) > i) {
+                        long j1 = ChunkPos.asLong(l, i1);
+                        if (!p_295190_.outstanding.containsKey(j1)) {
+                           longarraylist.add(j1);
+                        }
+                     }
+                  }
+               }
+
+               longarraylist.sort((p_295192_, p_295193_) -> {
+                  return Integer.compare(chessboardDistance(chunkpos, ChunkPos.getX(p_295192_), ChunkPos.getZ(p_295192_)), chessboardDistance(chunkpos, ChunkPos.getX(p_295193_), ChunkPos.getZ(p_295193_)));
+               });
+               if (p_295190_.outstanding.isEmpty()) {
+                  p_295190_.headingX = d4;
+                  p_295190_.headingZ = d5;
+               }
+
+               int k1 = 0;
+
+               for(int l1 = 0; l1 < longarraylist.size() && k1 < p_295191_ && p_295190_.outstanding.size() < 256; ++l1) {
+                  long i2 = longarraylist.getLong(l1);
+                  this.addTicket(i2);
+                  p_295190_.outstanding.put(i2, this.tickCount);
+                  ++k1;
+               }
+
+               this.issued += (long)k1;
+               return k1;
+            }
+         } else {
+            return 0;
+         }
+      }
+   }
+
+   private void updateOutstanding(ChunkPrefetcher.PlayerState p_295194_, ChunkPos p_295195_, int p_295196_) {
+      ObjectIterator<Long2LongMap.Entry> objectiterator = Long2LongMaps.fastIterator(p_295194_.outstanding);
+
+      while(objectiterator.hasNext()) {
+         Long2LongMap.Entry entry = objectiterator.next();
+         long i = entry.getLongKey();
+         if (chessboardDistance(p_295195_, ChunkPos.getX(i), ChunkPos.getZ(i)) <= p_295196_) {
+            ++this.hits;
+         } else {
+            if (this.tickCount - entry.getLongValue() <= 100L) {
+               continue;
+            }
+
+            ++this.wasted;
+         }
+
+         this.removeTicket(i);
+         objectiterator.remove();
+      }
+
+   }
+
+   private void cancel(ChunkPrefetcher.PlayerState p_295197_) {
+      for(long i : p_295197_.outstanding.keySet()) {
+         ++this.wasted;
+         this.removeTicket(i);
+      }
+
+      p_295197_.outstanding.clear();
+   }
+
+   private void addTicket(long p_295198_) {
+      if (this.ticketCounts.addTo(p_295198_, 1) == 0) {
+         ChunkPos chunkpos = new ChunkPos(p_295198_);
+         this.distanceManager.addTicket(TicketType.PREFETCH, chunkpos, TICKET_LEVEL, chunkpos);
+      }
+
+   }
+
+   private void removeTicket(long p_295199_) {
+      if (this.ticketCounts.addTo(p_295199_, -1) <= 1) {
+         this.ticketCounts.remove(p_295199_);
+         ChunkPos chunkpos = new ChunkPos(p_295199_);
+         this.distanceManager.removeTicket(TicketType.PREFETCH, chunkpos, TICKET_LEVEL, chunkpos);
+      }
+
+   }
+
+   private static int chessboardDistance(ChunkPos p_295200_, int p_295201_, int p_295202_) {
+      return Math.max(Math.abs(p_295201_ - p_295200_.x), Math.abs(p_295202_ - p_295200_.z));
+   }
+
+   public long getIssued() {
+      return this.issued;
+   }
+
+   public long getHits() {
+      return this.hits;
+   }
+
+   public long getWasted() {
+      return this.wasted;
+   }
+
+   public int getOutstanding() {
+      return this.ticketCounts.size();
+   }
+
+   public double getHitRate() {
+      long i = this.hits + this.wasted;
+      return i == 0L ? 0.0D : (double)this.hits / (double)i;
+   }
+
+   public List<MetricSampler> profiledMetrics() {
+      String s = "chunk-prefetch-" + this.level.dimension().location();
+      return ImmutableList.of(MetricSampler.create(s + "-issued", MetricCategory.CHUNK_IO, this::getIssued), MetricSampler.create(s + "-hits", MetricCategory.CHUNK_IO, this::getHits), MetricSampler.create(s + "-wasted", MetricCategory.CHUNK_IO, this::getWasted), MetricSampler.create(s + "-outstanding", MetricCategory.CHUNK_IO, this::getOutstanding), MetricSampler.create(s + "-hit-rate", MetricCategory.CHUNK_IO, this::getHitRate));
+   }
+
+   static class PlayerState {
+      final Long2LongOpenHashMap outstanding = new Long2LongOpenHashMap();
+      double lastX;
+      double lastZ;
+      double velocityX;
+      double velocityZ;
+      double headingX;
+      double headingZ;
+
+      PlayerState(double p_295203_, double p_295204_) {
+         this.lastX = p_295203_;
+         this.lastZ = p_295204_;
+      }
+   }
+}
@@ -292,8 +292,12 @@ public class ServerChunkCache extends ChunkSource {
    }
 
    public void save(boolean p_8420_) {
+      this.save(p_8420_, false);
+   }
+
+   public void save(boolean p_295365_, boolean p_295366_) {
       this.runDistanceManagerUpdates();
-      this.chunkMap.saveAllChunks(p_8420_);
+      this.chunkMap.saveAllChunks(p_295365_, p_295366_);
    }
 
    public void close() throws IOException {
@@ -458,6 +462,10 @@ public class ServerChunkCache extends ChunkSource {
       this.chunkMap.addEntity(p_8464_);
    }
 
+   public void onEntitySectionChange(Entity p_295242_) {
+      this.chunkMap.onEntitySectionChange(p_295242_);
+   }
+
    public void broadcastAndSend(Entity p_8395_, Packet<?> p_8396_) {
       this.chunkMap.broadcastAndSend(p_8395_, p_8396_);
    }
@@ -215,6 +215,10 @@ public class ServerEntity {
       });
    }
 
+   public Vec3 getPositionBase() {
+      return this.positionCodec.getBase();
+   }
+
    public void removePairing(ServerPlayer p_8535_) {
       this.entity.stopSeenByPlayer(p_8535_);
       p_8535_.connection.send(new ClientboundRemoveEntitiesPacket(this.entity.getId()));
@@ -203,7 +203,7 @@ public class ServerLevel extends Level implements WorldGenLevel {
       ChunkGenerator chunkgenerator = p_215004_.generator();
       boolean flag = p_214999_.forceSynchronousWrites();
       DataFixer datafixer = p_214999_.getFixerUpper();
-      EntityPersistentStorage<Entity> entitypersistentstorage = new EntityStorage(this, p_215001_.getDimensionPath(p_215003_).resolve("entities"), datafixer, flag, p_214999_);
+      EntityPersistentStorage<Entity> entitypersistentstorage = new EntityStorage(this, p_215001_.getDimensionPath(p_215003_).resolve("entities"), datafixer, flag, p_214999_, p_214999_.getRegionFileVersion(p_215003_), p_214999_.getRegionIoThreads());
       this.entityManager = new PersistentEntitySectionManager<>(Entity.class, new ServerLevel.EntityCallbacks(), entitypersistentstorage);
       this.chunkSource = new ServerChunkCache(this, p_215001_, datafixer, p_214999_.getStructureManager(), p_215000_, chunkgenerator, p_214999_.getPlayerList().getViewDistance(), p_214999_.getPlayerList().getSimulationDistance(), flag, p_215005_, this.entityManager::updateChunkStatus, () -> {
          return p_214999_.overworld().getDataStorage();
@@ -434,6 +434,10 @@ public class ServerLevel extends Level implements WorldGenLevel {
             if (levelchunksection.isRandomlyTicking()) {
                int k1 = p_8715_.getSectionYFromSectionIndex(j1);
                int k = SectionPos.sectionToBlockCoord(k1);
+               if (this.server.isSparseRandomTickingEnabled()) {
+                  this.tickSparseRandomSection(levelchunksection, i, k, j, p_8716_);
+                  continue;
+               }
 
                for(int l = 0; l < p_8716_; ++l) {
                   BlockPos blockpos1 = this.getBlockRandomPos(i, k, j, 15);
@@ -457,6 +461,35 @@ public class ServerLevel extends Level implements WorldGenLevel {
       profilerfiller.pop();
    }
 
+   private void tickSparseRandomSection(LevelChunkSection p_295311_, int p_295312_, int p_295313_, int p_295314_, int p_295315_) {
+      ProfilerFiller profilerfiller = this.getProfiler();
+
+      for(int i = 0; i < p_295315_; ++i) {
+         this.randValue = this.randValue * 3 + 1013904223;
+         int j = this.randValue >> 2 & 4095;
+         if (j < p_295311_.getRandomTickPositionCount()) {
+            int k = p_295311_.getRandomTickPosition(j);
+            int l = k & 15;
+            int i1 = k >> 8 & 15;
+            int j1 = k >> 4 & 15;
+            BlockPos blockpos = new BlockPos(p_295312_ + l, p_295313_ + i1, p_295314_ + j1);
+            profilerfiller.push("randomTick");
+            BlockState blockstate = p_295311_.getBlockState(l, i1, j1);
+            if (blockstate.isRandomlyTicking()) {
+               blockstate.randomTick(this, blockpos, this.random);
+            }
+
+            FluidState fluidstate = blockstate.getFluidState();
+            if (fluidstate.isRandomlyTicking()) {
+               fluidstate.randomTick(this, blockpos, this.random);
+            }
+
+            profilerfiller.pop();
+         }
+      }
+
+   }
+
    private void tickIceAndSnow(boolean p_298297_, BlockPos p_300602_) {
       BlockPos blockpos = this.getHeightmapPos(Heightmap.Types.MOTION_BLOCKING, p_300602_);
       BlockPos blockpos1 = blockpos.below();
@@ -718,6 +751,10 @@ public class ServerLevel extends Level implements WorldGenLevel {
    }
 
    public void save(@Nullable ProgressListener p_8644_, boolean p_8645_, boolean p_8646_) {
+      this.save(p_8644_, p_8645_, p_8646_, false);
+   }
+
+   public void save(@Nullable ProgressListener p_8644_, boolean p_8645_, boolean p_8646_, boolean p_295367_) {
       ServerChunkCache serverchunkcache = this.getChunkSource();
       if (!p_8646_) {
          if (p_8644_ != null) {
@@ -729,7 +766,7 @@ public class ServerLevel extends Level implements WorldGenLevel {
             p_8644_.progressStage(Component.translatable("menu.savingChunks"));
          }
 
-         serverchunkcache.save(p_8645_);
+         serverchunkcache.save(p_8645_, p_295367_);
          if (p_8645_) {
             this.entityManager.saveAll();
          } else {
@@ -1510,6 +1547,7 @@ public class ServerLevel extends Level implements WorldGenLevel {
       }
 
       public void onSectionChange(Entity p_215086_) {
+         ServerLevel.this.getChunkSource().onEntitySectionChange(p_215086_);
          p_215086_.updateDynamicGameEventListener(DynamicGameEventListener::move);
       }
    }
@@ -0,0 +1,75 @@
+package net.minecraft.server.network;
+
+import com.google.common.collect.Maps;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.network.protocol.Packet;
+
+public class PacketFanout {
+   private final ServerCommonPacketListenerImpl[][] groups;
+   private final EventLoop[] eventLoops;
+   private final ServerPlayerConnection[] direct;
+
+   private PacketFanout(ServerCommonPacketListenerImpl[][] p_295246_, EventLoop[] p_295247_, ServerPlayerConnection[] p_295248_) {
+      this.groups = p_295246_;
+      this.eventLoops = p_295247_;
+      this.direct = p_295248_;
+   }
+
+   public static PacketFanout of(Collection<ServerPlayerConnection> p_295249_) {
+      Map<EventLoop, List<ServerCommonPacketListenerImpl>> map = Maps.newIdentityHashMap();
+      List<ServerPlayerConnection> list = new ArrayList<>();
+
+      for(ServerPlayerConnection serverplayerconnection : p_295249_) {
+         if (serverplayerconnection instanceof ServerCommonPacketListenerImpl servercommonpacketlistenerimpl) {
+            EventLoop eventloop = servercommonpacketlistenerimpl.getConnection().getEventLoop();
+            if (eventloop != null) {
+               map.computeIfAbsent(eventloop, (p_295250_) -> {
+                  return new ArrayList<>();
+               }).add(servercommonpacketlistenerimpl);
+               continue;
+            }
+         }
+
+         list.add(serverplayerconnection);
+      }
+
+      ServerCommonPacketListenerImpl[][] aservercommonpacketlistenerimpl = new ServerCommonPacketListenerImpl[map.size()][];
+      EventLoop[] aeventloop = new EventLoop[map.size()];
+      int i = 0;
+
+      for(Map.Entry<EventLoop, List<ServerCommonPacketListenerImpl>> entry : map.entrySet()) {
+         aeventloop[i] = entry.getKey();
+         aservercommonpacketlistenerimpl[i] = entry.getValue().toArray(new ServerCommonPacketListenerImpl[0]);
+         ++i;
+      }
+
+      return new PacketFanout(aservercommonpacketlistenerimpl, aeventloop, list.toArray(new ServerPlayerConnection[0]));
+   }
+
+   public void send(Packet<?> p_295251_) {
+      for(ServerPlayerConnection serverplayerconnection : this.direct) {
+         serverplayerconnection.send(p_295251_);
+      }
+
+      for(int i = 0; i < this.eventLoops.length; ++i) {
+         ServerCommonPacketListenerImpl[] aservercommonpacketlistenerimpl = this.groups[i];
+         boolean[] aboolean = new boolean[aservercommonpacketlistenerimpl.length];
+
+         for(int j = 0; j < aservercommonpacketlistenerimpl.length; ++j) {
+            aboolean[j] = aservercommonpacketlistenerimpl[j].shouldFlushFromEventLoop();
+         }
+
+         this.eventLoops[i].execute(() -> {
+            for(int k = 0; k < aservercommonpacketlistenerimpl.length; ++k) {
+               aservercommonpacketlistenerimpl[k].sendFromEventLoop(p_295251_, aboolean[k]);
+            }
+
+         });
+      }
+
+   }
+}
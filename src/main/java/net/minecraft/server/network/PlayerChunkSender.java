@@ -4,14 +4,15 @@ import com.google.common.collect.Comparators;
 import com.mojang.logging.LogUtils;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
-import java.util.BitSet;
+import java.util.ArrayDeque;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import net.minecraft.Util;
 import net.minecraft.network.protocol.game.ClientboundChunkBatchFinishedPacket;
 import net.minecraft.network.protocol.game.ClientboundChunkBatchStartPacket;
 import net.minecraft.network.protocol.game.ClientboundForgetLevelChunkPacket;
-import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.DebugPackets;
 import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
@@ -19,6 +20,7 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.phys.Vec3;
 import org.slf4j.Logger;
 
 public class PlayerChunkSender {
@@ -27,15 +29,31 @@ public class PlayerChunkSender {
    public static final float MAX_CHUNKS_PER_TICK = 64.0F;
    private static final float START_CHUNKS_PER_TICK = 9.0F;
    private static final int MAX_UNACKNOWLEDGED_BATCHES = 10;
+   private static final double MS_PER_TICK = 50.0D;
+   private static final double PACING_GAIN = 1.25D;
+   private static final double WINDOW_GAIN = 2.0D;
+   private static final int MIN_WINDOW_CHUNKS = 4;
    private final LongSet pendingChunks = new LongOpenHashSet();
    private final boolean memoryConnection;
+   private final boolean congestionControl;
    private float desiredChunksPerTick = 9.0F;
    private float batchQuota;
    private int unacknowledgedBatches;
    private int maxUnacknowledgedBatches = 1;
+   private final Queue<PlayerChunkSender.SentBatch> sentBatches = new ArrayDeque<>();
+   private long deliveredChunks;
+   private int chunksInFlight;
+   private double smoothedRttMs = -1.0D;
+   private double minRttMs = Double.MAX_VALUE;
+   private double deliveryRate;
 
    public PlayerChunkSender(boolean p_300389_) {
+      this(p_300389_, false);
+   }
+
+   public PlayerChunkSender(boolean p_300389_, boolean p_295206_) {
       this.memoryConnection = p_300389_;
+      this.congestionControl = p_295206_ && !p_300389_;
    }
 
    public void markChunkPendingToSend(LevelChunk p_298187_) {
@@ -50,17 +68,33 @@ public class PlayerChunkSender {
    }
 
    public void sendNextChunks(ServerPlayer p_297274_) {
-      if (this.unacknowledgedBatches < this.maxUnacknowledgedBatches) {
-         float f = Math.max(1.0F, this.desiredChunksPerTick);
-         this.batchQuota = Math.min(this.batchQuota + this.desiredChunksPerTick, f);
+      this.sendNextChunks(p_297274_, Integer.MAX_VALUE);
+   }
+
+   public int sendNextChunks(ServerPlayer p_297274_, int p_295207_) {
+      if (this.unacknowledgedBatches < this.maxUnacknowledgedBatches && (this.memoryConnection || p_297274_.connection.getConnection().isWritable())) {
+         float f = this.getChunksPerTick();
+         float f1 = Math.max(1.0F, f);
+         this.batchQuota = Math.min(this.batchQuota + f, f1);
          if (!(this.batchQuota < 1.0F)) {
             if (!this.pendingChunks.isEmpty()) {
                ServerLevel serverlevel = p_297274_.serverLevel();
                ChunkMap chunkmap = serverlevel.getChunkSource().chunkMap;
-               List<LevelChunk> list = this.collectChunksToSend(chunkmap, p_297274_.chunkPosition());
+               int i = Math.min(Mth.floor(this.batchQuota), p_295207_);
+               if (this.congestionControl) {
+                  i = Math.min(i, this.getWindowChunks() - this.chunksInFlight);
+               }
+
+               if (i <= 0) {
+                  return 0;
+               }
+
+               List<LevelChunk> list = this.collectChunksToSend(chunkmap, p_297274_, i);
                if (!list.isEmpty()) {
                   ServerGamePacketListenerImpl servergamepacketlistenerimpl = p_297274_.connection;
                   ++this.unacknowledgedBatches;
+                  this.chunksInFlight += list.size();
+                  this.sentBatches.add(new PlayerChunkSender.SentBatch(Util.getNanos(), list.size(), this.deliveredChunks));
                   servergamepacketlistenerimpl.send(new ClientboundChunkBatchStartPacket());
 
                   for(LevelChunk levelchunk : list) {
@@ -69,26 +103,39 @@ public class PlayerChunkSender {
 
                   servergamepacketlistenerimpl.send(new ClientboundChunkBatchFinishedPacket(list.size()));
                   this.batchQuota -= (float)list.size();
+                  return list.size();
                }
             }
          }
       }
+
+      return 0;
    }
 
    private static void sendChunk(ServerGamePacketListenerImpl p_299748_, ServerLevel p_298120_, LevelChunk p_297712_) {
-      p_299748_.send(new ClientboundLevelChunkWithLightPacket(p_297712_, p_298120_.getLightEngine(), (BitSet)null, (BitSet)null));
+      p_299748_.send(p_298120_.getChunkSource().chunkMap.getChunkPacketCache().getPacket(p_297712_));
       ChunkPos chunkpos = p_297712_.getPos();
       DebugPackets.sendPoiPacketsForChunk(p_298120_, chunkpos);
    }
 
-   private List<LevelChunk> collectChunksToSend(ChunkMap p_298180_, ChunkPos p_298514_) {
-      int i = Mth.floor(this.batchQuota);
+   private List<LevelChunk> collectChunksToSend(ChunkMap p_298180_, ServerPlayer p_295208_, int p_295209_) {
+      ChunkPos chunkpos = p_295208_.chunkPosition();
       List<LevelChunk> list;
-      if (!this.memoryConnection && this.pendingChunks.size() > i) {
-         list = this.pendingChunks.stream().collect(Comparators.least(i, Comparator.comparingInt(p_298514_::distanceSquared))).stream().mapToLong(Long::longValue).mapToObj(p_298180_::getChunkToSend).filter(Objects::nonNull).toList();
+      if (!this.memoryConnection && this.pendingChunks.size() > p_295209_) {
+         Comparator<Long> comparator;
+         if (this.congestionControl) {
+            Vec3 vec3 = p_295208_.getLookAngle();
+            comparator = Comparator.comparingInt((p_295210_) -> {
+               return sendPriority(chunkpos, vec3.x, vec3.z, p_295210_);
+            });
+         } else {
+            comparator = Comparator.comparingInt(chunkpos::distanceSquared);
+         }
+
+         list = this.pendingChunks.stream().collect(Comparators.least(p_295209_, comparator)).stream().mapToLong(Long::longValue).mapToObj(p_298180_::getChunkToSend).filter(Objects::nonNull).toList();
       } else {
          list = this.pendingChunks.longStream().mapToObj(p_298180_::getChunkToSend).filter(Objects::nonNull).sorted(Comparator.comparingInt((p_299102_) -> {
-            return p_298514_.distanceSquared(p_299102_.getPos());
+            return chunkpos.distanceSquared(p_299102_.getPos());
          })).toList();
       }
 
@@ -99,8 +146,54 @@ public class PlayerChunkSender {
       return list;
    }
 
+   private static int sendPriority(ChunkPos p_295211_, double p_295212_, double p_295213_, long p_295214_) {
+      int i = ChunkPos.getX(p_295214_) - p_295211_.x;
+      int j = ChunkPos.getZ(p_295214_) - p_295211_.z;
+      int k = i * i + j * j;
+      return k > 4 && (double)i * p_295212_ + (double)j * p_295213_ < 0.0D ? k * 4 : k;
+   }
+
+   private float getChunksPerTick() {
+      if (this.congestionControl && !(this.deliveryRate <= 0.0D)) {
+         float f = (float)(this.deliveryRate * 50.0D * 1.25D);
+         return Mth.clamp(Math.min(f, this.desiredChunksPerTick), 0.01F, 64.0F);
+      } else {
+         return this.desiredChunksPerTick;
+      }
+   }
+
+   private int getWindowChunks() {
+      return this.deliveryRate <= 0.0D ? Mth.ceil(this.desiredChunksPerTick) * 10 : Math.max(4, Mth.ceil(this.deliveryRate * this.minRttMs * 2.0D));
+   }
+
+   private void onBatchAcknowledged() {
+      PlayerChunkSender.SentBatch playerchunksender$sentbatch = this.sentBatches.poll();
+      if (playerchunksender$sentbatch != null) {
+         this.chunksInFlight -= playerchunksender$sentbatch.chunks();
+         this.deliveredChunks += (long)playerchunksender$sentbatch.chunks();
+         double d0 = Math.max((double)(Util.getNanos() - playerchunksender$sentbatch.sentAt()) / 1000000.0D, 1.0D);
+         this.minRttMs = Math.min(this.minRttMs, d0);
+         this.smoothedRttMs = this.smoothedRttMs < 0.0D ? d0 : this.smoothedRttMs * 0.875D + d0 * 0.125D;
+         double d1 = (double)(this.deliveredChunks - playerchunksender$sentbatch.deliveredBefore()) / d0;
+         this.deliveryRate = Math.max(d1, this.deliveryRate * 0.875D);
+      }
+   }
+
+   public double getSmoothedRttMs() {
+      return this.smoothedRttMs;
+   }
+
+   public double getDeliveryRate() {
+      return this.deliveryRate;
+   }
+
+   public boolean hasPendingChunks() {
+      return !this.pendingChunks.isEmpty();
+   }
+
    public void onChunkBatchReceivedByClient(float p_298238_) {
       --this.unacknowledgedBatches;
+      this.onBatchAcknowledged();
       this.desiredChunksPerTick = Double.isNaN((double)p_298238_) ? 0.01F : Mth.clamp(p_298238_, 0.01F, 64.0F);
       if (this.unacknowledgedBatches == 0) {
          this.batchQuota = 1.0F;
@@ -112,4 +205,7 @@ public class PlayerChunkSender {
    public boolean isPending(long p_299869_) {
       return this.pendingChunks.contains(p_299869_);
    }
-}
\ No newline at end of file
+
+   static record SentBatch(long sentAt, int chunks, long deliveredBefore) {
+   }
+}
@@ -100,7 +100,22 @@ public abstract class ServerCommonPacketListenerImpl implements ServerCommonPack
 
    public void resumeFlushing() {
       this.suspendFlushingOnServerThread = false;
-      this.connection.flushChannel();
+      if (!this.connection.sendCoalescedPackets(true)) {
+         this.connection.flushChannel();
+      }
+
+   }
+
+   public Connection getConnection() {
+      return this.connection;
+   }
+
+   public boolean shouldFlushFromEventLoop() {
+      return !this.suspendFlushingOnServerThread;
+   }
+
+   public void sendFromEventLoop(Packet<?> p_295245_, boolean p_295396_) {
+      this.connection.sendFromEventLoop(p_295245_, p_295396_);
    }
 
    public void send(Packet<?> p_300558_) {
@@ -109,9 +124,14 @@ public abstract class ServerCommonPacketListenerImpl implements ServerCommonPack
 
    public void send(Packet<?> p_300325_, @Nullable PacketSendListener p_301165_) {
       boolean flag = !this.suspendFlushingOnServerThread || !this.server.isSameThread();
+      boolean flag1 = p_300325_ instanceof ClientboundKeepAlivePacket || p_300325_ instanceof ClientboundDisconnectPacket;
 
       try {
-         this.connection.send(p_300325_, p_301165_, flag);
+         if (!flag && !flag1 && this.server.isPacketCoalescingEnabled()) {
+            this.connection.queueCoalesced(p_300325_, p_301165_);
+         } else {
+            this.connection.send(p_300325_, p_301165_, flag || flag1);
+         }
       } catch (Throwable throwable) {
          CrashReport crashreport = CrashReport.forThrowable(throwable, "Sending packet");
          CrashReportCategory crashreportcategory = crashreport.addCategory("Packet being sent");
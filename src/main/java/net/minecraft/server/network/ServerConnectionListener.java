@@ -1,10 +1,12 @@
 package net.minecraft.server.network;
 
 import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mojang.logging.LogUtils;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelFuture;
@@ -14,6 +16,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
@@ -45,9 +48,13 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.PacketFlow;
 import net.minecraft.network.protocol.common.ClientboundDisconnectPacket;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.profiling.metrics.MetricCategory;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.util.profiling.metrics.ProfilerMeasured;
 import org.slf4j.Logger;
 
-public class ServerConnectionListener {
+public class ServerConnectionListener implements ProfilerMeasured {
    private static final Logger LOGGER = LogUtils.getLogger();
    public static final Supplier<NioEventLoopGroup> SERVER_EVENT_GROUP = Suppliers.memoize(() -> {
       return new NioEventLoopGroup(0, (new ThreadFactoryBuilder()).setNameFormat("Netty Server IO #%d").setDaemon(true).build());
@@ -56,13 +63,40 @@ public class ServerConnectionListener {
       return new EpollEventLoopGroup(0, (new ThreadFactoryBuilder()).setNameFormat("Netty Epoll Server IO #%d").setDaemon(true).build());
    });
    final MinecraftServer server;
+   private final int ioThreads;
+   private final WriteBufferWaterMark writeBufferWaterMark;
+   @Nullable
+   private final ByteBufAllocator allocator;
+   @Nullable
+   private EventLoopGroup ownedEventGroup;
    public volatile boolean running;
    private final List<ChannelFuture> channels = Collections.synchronizedList(Lists.newArrayList());
    final List<Connection> connections = Collections.synchronizedList(Lists.newArrayList());
+   private volatile long closedConnectionBytesWritten;
 
    public ServerConnectionListener(MinecraftServer p_9707_) {
       this.server = p_9707_;
       this.running = true;
+      this.ioThreads = Math.max(p_9707_.getNetworkIoThreads(), 0);
+      this.writeBufferWaterMark = p_9707_.getNetworkWriteBufferWaterMark();
+      this.allocator = p_9707_.getNetworkBufferAllocator();
+      MetricsRegistry.INSTANCE.add(this);
+   }
+
+   private EventLoopGroup getEventGroup(boolean p_295577_) {
+      if (this.ioThreads == 0) {
+         return (EventLoopGroup)(p_295577_ ? SERVER_EPOLL_EVENT_GROUP.get() : SERVER_EVENT_GROUP.get());
+      } else {
+         if (this.ownedEventGroup == null) {
+            if (p_295577_) {
+               this.ownedEventGroup = new EpollEventLoopGroup(this.ioThreads, (new ThreadFactoryBuilder()).setNameFormat("Netty Epoll Server IO #%d").setDaemon(true).build());
+            } else {
+               this.ownedEventGroup = new NioEventLoopGroup(this.ioThreads, (new ThreadFactoryBuilder()).setNameFormat("Netty Server IO #%d").setDaemon(true).build());
+            }
+         }
+
+         return this.ownedEventGroup;
+      }
    }
 
    public void startTcpServerListener(@Nullable InetAddress p_9712_, int p_9713_) throws IOException {
@@ -71,11 +105,11 @@ public class ServerConnectionListener {
          EventLoopGroup eventloopgroup;
          if (Epoll.isAvailable() && this.server.isEpollEnabled()) {
             oclass = EpollServerSocketChannel.class;
-            eventloopgroup = SERVER_EPOLL_EVENT_GROUP.get();
+            eventloopgroup = this.getEventGroup(true);
             LOGGER.info("Using epoll channel type");
          } else {
             oclass = NioServerSocketChannel.class;
-            eventloopgroup = SERVER_EVENT_GROUP.get();
+            eventloopgroup = this.getEventGroup(false);
             LOGGER.info("Using default channel type");
          }
 
@@ -88,6 +122,12 @@ public class ServerConnectionListener {
                } catch (ChannelException channelexception) {
                }
 
+               p_9729_.config().setWriteBufferWaterMark(ServerConnectionListener.this.writeBufferWaterMark);
+               ByteBufAllocator bytebufallocator = ServerConnectionListener.this.allocator;
+               if (bytebufallocator != null) {
+                  p_9729_.config().setAllocator(bytebufallocator);
+               }
+
                ChannelPipeline channelpipeline = p_9729_.pipeline().addLast("timeout", new ReadTimeoutHandler(30)).addLast("legacy_query", new LegacyQueryHandler(ServerConnectionListener.this.getServer()));
                Connection.configureSerialization(channelpipeline, PacketFlow.SERVERBOUND, (BandwidthDebugMonitor)null);
                int i = ServerConnectionListener.this.server.getRateLimitPacketsPerSecond();
@@ -131,6 +171,11 @@ public class ServerConnectionListener {
          }
       }
 
+      if (this.ownedEventGroup != null) {
+         this.ownedEventGroup.shutdownGracefully();
+         this.ownedEventGroup = null;
+      }
+
    }
 
    public void tick() {
@@ -157,6 +202,7 @@ public class ServerConnectionListener {
                   }
                } else {
                   iterator.remove();
+                  this.closedConnectionBytesWritten += connection.getBytesWritten();
                   connection.handleDisconnection();
                }
             }
@@ -173,6 +219,74 @@ public class ServerConnectionListener {
       return this.connections;
    }
 
+   private long getPendingWriteBytes() {
+      long i = 0L;
+      synchronized(this.connections) {
+         for(Connection connection : this.connections) {
+            i += connection.getPendingWriteBytes();
+         }
+
+         return i;
+      }
+   }
+
+   private long getBytesWritten() {
+      long i = this.closedConnectionBytesWritten;
+      synchronized(this.connections) {
+         for(Connection connection : this.connections) {
+            i += connection.getBytesWritten();
+         }
+
+         return i;
+      }
+   }
+
+   private int getUnwritableConnections() {
+      int i = 0;
+      synchronized(this.connections) {
+         for(Connection connection : this.connections) {
+            if (!connection.isWritable()) {
+               ++i;
+            }
+         }
+
+         return i;
+      }
+   }
+
+   private long getUnwritableEvents() {
+      long i = 0L;
+      synchronized(this.connections) {
+         for(Connection connection : this.connections) {
+            i += (long)connection.getUnwritableCount();
+         }
+
+         return i;
+      }
+   }
+
+   private double getChunkDeliveryLatency() {
+      double d0 = 0.0D;
+      int i = 0;
+      synchronized(this.connections) {
+         for(Connection connection : this.connections) {
+            if (connection.getPacketListener() instanceof ServerGamePacketListenerImpl servergamepacketlistenerimpl) {
+               double d1 = servergamepacketlistenerimpl.chunkSender.getSmoothedRttMs();
+               if (d1 >= 0.0D) {
+                  d0 += d1;
+                  ++i;
+               }
+            }
+         }
+      }
+
+      return i > 0 ? d0 / (double)i : 0.0D;
+   }
+
+   public List<MetricSampler> profiledMetrics() {
+      return ImmutableList.of(MetricSampler.create("network-bytes-sent", MetricCategory.EVENT_LOOPS, this::getBytesWritten), MetricSampler.create("network-chunk-delivery-latency", MetricCategory.EVENT_LOOPS, this::getChunkDeliveryLatency), MetricSampler.create("network-pending-write-bytes", MetricCategory.EVENT_LOOPS, this::getPendingWriteBytes), MetricSampler.create("network-unwritable-connections", MetricCategory.EVENT_LOOPS, this::getUnwritableConnections), MetricSampler.create("network-unwritable-events", MetricCategory.EVENT_LOOPS, this::getUnwritableEvents));
+   }
+
    static class LatencySimulator extends ChannelInboundHandlerAdapter {
       private static final Timer TIMER = new HashedWheelTimer();
       private final int delay;
@@ -21,6 +21,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -216,7 +217,8 @@ public class ServerGamePacketListenerImpl extends ServerCommonPacketListenerImpl
    private final AtomicReference<Instant> lastChatTimeStamp = new AtomicReference<>(Instant.EPOCH);
    @Nullable
    private RemoteChatSession chatSession;
-   private SignedMessageChain.Decoder signedMessageDecoder;
+   private volatile SignedMessageChain.Decoder signedMessageDecoder;
+   private final AtomicInteger pendingChatTasks = new AtomicInteger();
    private final LastSeenMessagesValidator lastSeenMessages = new LastSeenMessagesValidator(20);
    private final MessageSignatureCache messageSignatureCache = MessageSignatureCache.createDefault();
    private final FutureChain chatMessageChain;
@@ -224,7 +226,7 @@ public class ServerGamePacketListenerImpl extends ServerCommonPacketListenerImpl
 
    public ServerGamePacketListenerImpl(MinecraftServer p_9770_, Connection p_9771_, ServerPlayer p_9772_, CommonListenerCookie p_300908_) {
       super(p_9770_, p_9771_, p_300908_);
-      this.chunkSender = new PlayerChunkSender(p_9771_.isMemoryConnection());
+      this.chunkSender = new PlayerChunkSender(p_9771_.isMemoryConnection(), p_9770_.isChunkSendCongestionControlEnabled());
       p_9771_.setListener(this);
       this.player = p_9772_;
       p_9772_.connection = this;
@@ -1125,38 +1127,74 @@ public class ServerGamePacketListenerImpl extends ServerCommonPacketListenerImpl
       } else {
          Optional<LastSeenMessages> optional = this.tryHandleChat(p_9841_.message(), p_9841_.timeStamp(), p_9841_.lastSeenMessages());
          if (optional.isPresent()) {
-            this.server.submit(() -> {
+            if (this.canValidateChatOffThread()) {
                PlayerChatMessage playerchatmessage;
                try {
                   playerchatmessage = this.getSignedMessage(p_9841_, optional.get());
                } catch (SignedMessageChain.DecodeException signedmessagechain$decodeexception) {
-                  this.handleMessageDecodeFailure(signedmessagechain$decodeexception);
+                  this.server.submit(() -> {
+                     this.handleMessageDecodeFailure(signedmessagechain$decodeexception);
+                  });
                   return;
                }
 
-               CompletableFuture<FilteredText> completablefuture = this.filterTextPacket(playerchatmessage.signedContent());
-               Component component = this.server.getChatDecorator().decorate(this.player, playerchatmessage.decoratedContent());
-               this.chatMessageChain.append((p_296593_) -> {
-                  return completablefuture.thenAcceptAsync((p_296589_) -> {
-                     PlayerChatMessage playerchatmessage1 = playerchatmessage.withUnsignedContent(component).filter(p_296589_.mask());
-                     this.broadcastChatMessage(playerchatmessage1);
-                  }, p_296593_);
+               this.server.submit(() -> {
+                  this.handleSignedChat(playerchatmessage);
                });
-            });
+            } else {
+               this.pendingChatTasks.incrementAndGet();
+               this.server.submit(() -> {
+                  try {
+                     PlayerChatMessage playerchatmessage1;
+                     try {
+                        playerchatmessage1 = this.getSignedMessage(p_9841_, optional.get());
+                     } catch (SignedMessageChain.DecodeException signedmessagechain$decodeexception1) {
+                        this.handleMessageDecodeFailure(signedmessagechain$decodeexception1);
+                        return;
+                     }
+
+                     this.handleSignedChat(playerchatmessage1);
+                  } finally {
+                     this.pendingChatTasks.decrementAndGet();
+                  }
+
+               });
+            }
          }
 
       }
    }
 
+   private void handleSignedChat(PlayerChatMessage p_295291_) {
+      CompletableFuture<FilteredText> completablefuture = this.filterTextPacket(p_295291_.signedContent());
+      Component component = this.server.getChatDecorator().decorate(this.player, p_295291_.decoratedContent());
+      this.chatMessageChain.append((p_296593_) -> {
+         return completablefuture.thenAcceptAsync((p_296589_) -> {
+            PlayerChatMessage playerchatmessage = p_295291_.withUnsignedContent(component).filter(p_296589_.mask());
+            this.broadcastChatMessage(playerchatmessage);
+         }, p_296593_);
+      });
+   }
+
+   private boolean canValidateChatOffThread() {
+      return this.server.isAsyncPacketValidationEnabled() && !this.server.isSameThread() && this.pendingChatTasks.get() == 0;
+   }
+
    public void handleChatCommand(ServerboundChatCommandPacket p_215225_) {
       if (isChatMessageIllegal(p_215225_.command())) {
          this.disconnect(Component.translatable("multiplayer.disconnect.illegal_characters"));
       } else {
          Optional<LastSeenMessages> optional = this.tryHandleChat(p_215225_.command(), p_215225_.timeStamp(), p_215225_.lastSeenMessages());
          if (optional.isPresent()) {
+            this.pendingChatTasks.incrementAndGet();
             this.server.submit(() -> {
-               this.performChatCommand(p_215225_, optional.get());
-               this.detectRateSpam();
+               try {
+                  this.performChatCommand(p_215225_, optional.get());
+                  this.detectRateSpam();
+               } finally {
+                  this.pendingChatTasks.decrementAndGet();
+               }
+
             });
          }
 
@@ -1620,8 +1658,19 @@ public class ServerGamePacketListenerImpl extends ServerCommonPacketListenerImpl
    }
 
    public void handleChatSessionUpdate(ServerboundChatSessionUpdatePacket p_253950_) {
-      PacketUtils.ensureRunningOnSameThread(p_253950_, this, this.player.serverLevel());
-      RemoteChatSession.Data remotechatsession$data = p_253950_.chatSession();
+      this.pendingChatTasks.incrementAndGet();
+      this.server.submit(() -> {
+         try {
+            this.updateChatSession(p_253950_);
+         } finally {
+            this.pendingChatTasks.decrementAndGet();
+         }
+
+      });
+   }
+
+   private void updateChatSession(ServerboundChatSessionUpdatePacket p_295296_) {
+      RemoteChatSession.Data remotechatsession$data = p_295296_.chatSession();
       ProfilePublicKey.Data profilepublickey$data = this.chatSession != null ? this.chatSession.profilePublicKey().data() : null;
       ProfilePublicKey.Data profilepublickey$data1 = remotechatsession$data.profilePublicKey();
       if (!Objects.equals(profilepublickey$data, profilepublickey$data1)) {
@@ -135,7 +135,7 @@ public class ServerLoginPacketListenerImpl implements ServerLoginPacketListener,
       } else {
          if (this.server.getCompressionThreshold() >= 0 && !this.connection.isMemoryConnection()) {
             this.connection.send(new ClientboundLoginCompressionPacket(this.server.getCompressionThreshold()), PacketSendListener.thenRun(() -> {
-               this.connection.setupCompression(this.server.getCompressionThreshold(), true);
+               this.connection.setupCompression(this.server.getCompressionThreshold(), this.server.getNetworkCompressionLevel(), this.server.getChunkCompressionLevel(), true);
             }));
          }
 
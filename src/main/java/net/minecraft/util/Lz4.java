@@ -0,0 +1,260 @@
+package net.minecraft.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class Lz4 {
+   private static final int MIN_MATCH = 4;
+   private static final int LAST_LITERALS = 5;
+   private static final int MF_LIMIT = 12;
+   private static final int MIN_LENGTH = 13;
+   private static final int MAX_DISTANCE = 65535;
+   private static final int HASH_LOG = 12;
+   private static final int RUN_MASK = 15;
+   private static final int SKIP_TRIGGER = 6;
+   private static final int PRIME32_1 = -1640531535;
+   private static final int PRIME32_2 = -2048144777;
+   private static final int PRIME32_3 = -1028477379;
+   private static final int PRIME32_4 = 668265263;
+   private static final int PRIME32_5 = 374761393;
+
+   private Lz4() {
+   }
+
+   public static int maxCompressedLength(int p_295010_) {
+      if (p_295010_ < 0) {
+         throw new IllegalArgumentException("Length must be >= 0, got " + p_295010_);
+      } else {
+         return p_295010_ + p_295010_ / 255 + 16;
+      }
+   }
+
+   public static int compress(byte[] p_295011_, int p_295012_, int p_295013_, byte[] p_295014_, int p_295015_) {
+      int i = p_295012_ + p_295013_;
+      int j = p_295012_;
+      int k = p_295015_;
+      if (p_295013_ >= 13) {
+         int[] aint = new int[4096];
+         Arrays.fill(aint, -1);
+         int l = i - 12;
+         int i1 = i - 5;
+         int j1 = p_295012_;
+
+         while(j1 < l) {
+            int k1 = readIntLE(p_295011_, j1);
+            int l1 = hash(k1);
+            int i2 = aint[l1];
+            aint[l1] = j1;
+            if (i2 >= 0 && j1 - i2 <= 65535 && readIntLE(p_295011_, i2) == k1) {
+               while(j1 > j && i2 > p_295012_ && p_295011_[j1 - 1] == p_295011_[i2 - 1]) {
+                  --j1;
+                  --i2;
+               }
+
+               int j2 = 4;
+
+               while(j1 + j2 < i1 && p_295011_[j1 + j2] == p_295011_[i2 + j2]) {
+                  ++j2;
+               }
+
+               k = writeSequence(p_295011_, j, j1 - j, p_295014_, k, j1 - i2, j2);
+               j1 += j2;
+               j = j1;
+               if (j1 - 2 < l) {
+                  aint[hash(readIntLE(p_295011_, j1 - 2))] = j1 - 2;
+               }
+            } else {
+               j1 += 1 + (j1 - j >>> 6);
+            }
+         }
+      }
+
+      return writeLastLiterals(p_295011_, j, i - j, p_295014_, k) - p_295015_;
+   }
+
+   public static void decompress(byte[] p_295016_, int p_295017_, int p_295018_, byte[] p_295019_, int p_295020_, int p_295021_) throws IOException {
+      int i = p_295017_;
+      int j = p_295017_ + p_295018_;
+      int k = p_295020_;
+      int l = p_295020_ + p_295021_;
+
+      while(true) {
+         if (i >= j) {
+            throw new IOException("Malformed LZ4 block: missing sequence token");
+         }
+
+         int i1 = p_295016_[i++] & 255;
+         int j1 = i1 >>> 4;
+         if (j1 == 15) {
+            int k1;
+            do {
+               if (i >= j) {
+                  throw new IOException("Malformed LZ4 block: truncated literal length");
+               }
+
+               k1 = p_295016_[i++] & 255;
+               j1 += k1;
+            } while(k1 == 255);
+         }
+
+         if (j1 > j - i || j1 > l - k) {
+            throw new IOException("Malformed LZ4 block: literals out of bounds");
+         }
+
+         System.arraycopy(p_295016_, i, p_295019_, k, j1);
+         i += j1;
+         k += j1;
+         if (i == j) {
+            if (k != l) {
+               throw new IOException("Malformed LZ4 block: expected " + p_295021_ + " bytes but got " + (k - p_295020_));
+            }
+
+            return;
+         }
+
+         if (j - i < 2) {
+            throw new IOException("Malformed LZ4 block: truncated match offset");
+         }
+
+         int l1 = p_295016_[i] & 255 | (p_295016_[i + 1] & 255) << 8;
+         i += 2;
+         if (l1 == 0 || l1 > k - p_295020_) {
+            throw new IOException("Malformed LZ4 block: invalid match offset " + l1);
+         }
+
+         int i2 = i1 & 15;
+         if (i2 == 15) {
+            int j2;
+            do {
+               if (i >= j) {
+                  throw new IOException("Malformed LZ4 block: truncated match length");
+               }
+
+               j2 = p_295016_[i++] & 255;
+               i2 += j2;
+            } while(j2 == 255);
+         }
+
+         i2 += 4;
+         if (i2 > l - k) {
+            throw new IOException("Malformed LZ4 block: match out of bounds");
+         }
+
+         if (l1 >= i2) {
+            System.arraycopy(p_295019_, k - l1, p_295019_, k, i2);
+            k += i2;
+         } else {
+            for(int k2 = 0; k2 < i2; ++k2) {
+               p_295019_[k] = p_295019_[k - l1];
+               ++k;
+            }
+         }
+      }
+   }
+
+   public static int xxHash32(byte[] p_295022_, int p_295023_, int p_295024_, int p_295025_) {
+      int i = p_295023_ + p_295024_;
+      int j = p_295023_;
+      int k;
+      if (p_295024_ >= 16) {
+         int l = i - 16;
+         int i1 = p_295025_ + -1640531535 + -2048144777;
+         int j1 = p_295025_ + -2048144777;
+         int k1 = p_295025_;
+         int l1 = p_295025_ - -1640531535;
+
+         do {
+            i1 = Integer.rotateLeft(i1 + readIntLE(p_295022_, j) * -2048144777, 13) * -1640531535;
+            j1 = Integer.rotateLeft(j1 + readIntLE(p_295022_, j + 4) * -2048144777, 13) * -1640531535;
+            k1 = Integer.rotateLeft(k1 + readIntLE(p_295022_, j + 8) * -2048144777, 13) * -1640531535;
+            l1 = Integer.rotateLeft(l1 + readIntLE(p_295022_, j + 12) * -2048144777, 13) * -1640531535;
+            j += 16;
+         } while(j <= l);
+
+         k = Integer.rotateLeft(i1, 1) + Integer.rotateLeft(j1, 7) + Integer.rotateLeft(k1, 12) + Integer.rotateLeft(l1, 18);
+      } else {
+         k = p_295025_ + 374761393;
+      }
+
+      k += p_295024_;
+
+      while(j <= i - 4) {
+         k = Integer.rotateLeft(k + readIntLE(p_295022_, j) * -1028477379, 17) * 668265263;
+         j += 4;
+      }
+
+      while(j < i) {
+         k = Integer.rotateLeft(k + (p_295022_[j] & 255) * 374761393, 11) * -1640531535;
+         ++j;
+      }
+
+      k ^= k >>> 15;
+      k *= -2048144777;
+      k ^= k >>> 13;
+      k *= -1028477379;
+      return k ^ k >>> 16;
+   }
+
+   private static int writeSequence(byte[] p_295026_, int p_295027_, int p_295028_, byte[] p_295029_, int p_295030_, int p_295031_, int p_295032_) {
+      int i = p_295030_++;
+      int j;
+      if (p_295028_ >= 15) {
+         j = 240;
+         p_295030_ = writeLength(p_295029_, p_295030_, p_295028_ - 15);
+      } else {
+         j = p_295028_ << 4;
+      }
+
+      System.arraycopy(p_295026_, p_295027_, p_295029_, p_295030_, p_295028_);
+      p_295030_ += p_295028_;
+      p_295029_[p_295030_++] = (byte)p_295031_;
+      p_295029_[p_295030_++] = (byte)(p_295031_ >>> 8);
+      int k = p_295032_ - 4;
+      if (k >= 15) {
+         j |= 15;
+         p_295030_ = writeLength(p_295029_, p_295030_, k - 15);
+      } else {
+         j |= k;
+      }
+
+      p_295029_[i] = (byte)j;
+      return p_295030_;
+   }
+
+   private static int writeLastLiterals(byte[] p_295033_, int p_295034_, int p_295035_, byte[] p_295036_, int p_295037_) {
+      if (p_295035_ >= 15) {
+         p_295036_[p_295037_++] = (byte)240;
+         p_295037_ = writeLength(p_295036_, p_295037_, p_295035_ - 15);
+      } else {
+         p_295036_[p_295037_++] = (byte)(p_295035_ << 4);
+      }
+
+      System.arraycopy(p_295033_, p_295034_, p_295036_, p_295037_, p_295035_);
+      return p_295037_ + p_295035_;
+   }
+
+   private static int writeLength(byte[] p_295038_, int p_295039_, int p_295040_) {
+      while(p_295040_ >= 255) {
+         p_295038_[p_295039_++] = -1;
+         p_295040_ -= 255;
+      }
+
+      p_295038_[p_295039_++] = (byte)p_295040_;
+      return p_295039_;
+   }
+
+   private static int hash(int p_295041_) {
+      return p_295041_ * -1640531535 >>> 20;
+   }
+
+   static int readIntLE(byte[] p_295042_, int p_295043_) {
+      return p_295042_[p_295043_] & 255 | (p_295042_[p_295043_ + 1] & 255) << 8 | (p_295042_[p_295043_ + 2] & 255) << 16 | (p_295042_[p_295043_ + 3] & 255) << 24;
+   }
+
+   static void writeIntLE(byte[] p_295044_, int p_295045_, int p_295046_) {
+      p_295044_[p_295045_] = (byte)p_295046_;
+      p_295044_[p_295045_ + 1] = (byte)(p_295046_ >>> 8);
+      p_295044_[p_295045_ + 2] = (byte)(p_295046_ >>> 16);
+      p_295044_[p_295045_ + 3] = (byte)(p_295046_ >>> 24);
+   }
+}
@@ -0,0 +1,148 @@
+package net.minecraft.util;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class Lz4BlockInputStream extends FilterInputStream {
+   private final byte[] header = new byte[21];
+   private byte[] buffer = new byte[0];
+   private byte[] compressedBuffer = new byte[0];
+   private int limit;
+   private int position;
+   private boolean finished;
+
+   public Lz4BlockInputStream(InputStream p_295070_) {
+      super(p_295070_);
+   }
+
+   public int read() throws IOException {
+      if (this.position == this.limit && !this.refill()) {
+         return -1;
+      } else {
+         return this.buffer[this.position++] & 255;
+      }
+   }
+
+   public int read(byte[] p_295071_, int p_295072_, int p_295073_) throws IOException {
+      if (p_295073_ == 0) {
+         return 0;
+      } else if (this.position == this.limit && !this.refill()) {
+         return -1;
+      } else {
+         int i = Math.min(p_295073_, this.limit - this.position);
+         System.arraycopy(this.buffer, this.position, p_295071_, p_295072_, i);
+         this.position += i;
+         return i;
+      }
+   }
+
+   public long skip(long p_295074_) throws IOException {
+      if (p_295074_ <= 0L || this.position == this.limit && !this.refill()) {
+         return 0L;
+      } else {
+         int i = (int)Math.min(p_295074_, (long)(this.limit - this.position));
+         this.position += i;
+         return (long)i;
+      }
+   }
+
+   public int available() {
+      return this.limit - this.position;
+   }
+
+   public boolean markSupported() {
+      return false;
+   }
+
+   public synchronized void mark(int p_295075_) {
+   }
+
+   public synchronized void reset() throws IOException {
+      throw new IOException("mark/reset not supported");
+   }
+
+   private boolean refill() throws IOException {
+      if (this.finished) {
+         return false;
+      } else {
+         if (!this.readFully(this.header, 21, true)) {
+            this.finished = true;
+            return false;
+         }
+
+         for(int i = 0; i < Lz4BlockOutputStream.MAGIC.length; ++i) {
+            if (this.header[i] != Lz4BlockOutputStream.MAGIC[i]) {
+               throw new IOException("Stream is corrupted: bad magic");
+            }
+         }
+
+         int j = this.header[8] & 255;
+         int k = j & 240;
+         int l = 10 + (j & 15);
+         int i1 = Lz4.readIntLE(this.header, 9);
+         int j1 = Lz4.readIntLE(this.header, 13);
+         int k1 = Lz4.readIntLE(this.header, 17);
+         if (k != 16 && k != 32 || j1 > 1 << l || j1 < 0 || i1 < 0 || j1 == 0 && i1 != 0 || j1 != 0 && i1 == 0 || k == 16 && j1 != i1 || k == 32 && i1 >= j1) {
+            throw new IOException("Stream is corrupted: bad block header");
+         }
+
+         if (j1 == 0) {
+            if (k1 != 0) {
+               throw new IOException("Stream is corrupted: bad end of stream checksum");
+            }
+
+            this.finished = true;
+            return false;
+         }
+
+         if (this.buffer.length < j1) {
+            this.buffer = new byte[Math.max(j1, this.buffer.length * 3 / 2)];
+         }
+
+         if (k == 16) {
+            if (!this.readFully(this.buffer, j1, false)) {
+               throw new EOFException("Stream ended prematurely");
+            }
+         } else {
+            if (this.compressedBuffer.length < i1) {
+               this.compressedBuffer = new byte[Math.max(i1, this.compressedBuffer.length * 3 / 2)];
+            }
+
+            if (!this.readFully(this.compressedBuffer, i1, false)) {
+               throw new EOFException("Stream ended prematurely");
+            }
+
+            Lz4.decompress(this.compressedBuffer, 0, i1, this.buffer, 0, j1);
+         }
+
+         if ((Lz4.xxHash32(this.buffer, 0, j1, -1756908916) & 268435455) != k1) {
+            throw new IOException("Stream is corrupted: checksum mismatch");
+         }
+
+         this.position = 0;
+         this.limit = j1;
+         return true;
+      }
+   }
+
+   private boolean readFully(byte[] p_295076_, int p_295077_, boolean p_295078_) throws IOException {
+      int i = 0;
+
+      while(i < p_295077_) {
+         int j = this.in.read(p_295076_, i, p_295077_ - i);
+         if (j < 0) {
+            if (p_295078_ && i == 0) {
+               return false;
+            }
+
+            throw new EOFException("Stream ended prematurely");
+         }
+
+         i += j;
+      }
+
+      return true;
+   }
+}
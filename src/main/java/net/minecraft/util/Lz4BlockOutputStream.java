@@ -0,0 +1,121 @@
+package net.minecraft.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class Lz4BlockOutputStream extends FilterOutputStream {
+   static final byte[] MAGIC = new byte[]{76, 90, 52, 66, 108, 111, 99, 107};
+   static final int HEADER_LENGTH = 21;
+   static final int COMPRESSION_LEVEL_BASE = 10;
+   static final int METHOD_RAW = 16;
+   static final int METHOD_LZ4 = 32;
+   static final int CHECKSUM_SEED = -1756908916;
+   private static final int DEFAULT_BLOCK_SIZE = 65536;
+   private final byte[] buffer;
+   private final byte[] compressedBuffer;
+   private final int compressionLevel;
+   private int count;
+   private boolean finished;
+
+   public Lz4BlockOutputStream(OutputStream p_295050_) {
+      this(p_295050_, 65536);
+   }
+
+   public Lz4BlockOutputStream(OutputStream p_295051_, int p_295052_) {
+      super(p_295051_);
+      if (p_295052_ < 64 || p_295052_ > 33554432) {
+         throw new IllegalArgumentException("Block size must be in [64, 33554432], got " + p_295052_);
+      } else {
+         this.buffer = new byte[p_295052_];
+         this.compressedBuffer = new byte[21 + Lz4.maxCompressedLength(p_295052_)];
+         this.compressionLevel = Math.max(0, 32 - Integer.numberOfLeadingZeros(p_295052_ - 1) - 10);
+      }
+   }
+
+   public void write(int p_295053_) throws IOException {
+      this.ensureNotFinished();
+      if (this.count == this.buffer.length) {
+         this.flushBlock();
+      }
+
+      this.buffer[this.count++] = (byte)p_295053_;
+   }
+
+   public void write(byte[] p_295054_, int p_295055_, int p_295056_) throws IOException {
+      this.ensureNotFinished();
+
+      while(p_295056_ > 0) {
+         if (this.count == this.buffer.length) {
+            this.flushBlock();
+         }
+
+         int i = Math.min(p_295056_, this.buffer.length - this.count);
+         System.arraycopy(p_295054_, p_295055_, this.buffer, this.count, i);
+         this.count += i;
+         p_295055_ += i;
+         p_295056_ -= i;
+      }
+
+   }
+
+   public void flush() throws IOException {
+      if (!this.finished) {
+         this.flushBlock();
+      }
+
+      this.out.flush();
+   }
+
+   public void finish() throws IOException {
+      if (!this.finished) {
+         this.flushBlock();
+         writeHeader(this.compressedBuffer, 16 | this.compressionLevel, 0, 0, 0);
+         this.out.write(this.compressedBuffer, 0, 21);
+         this.finished = true;
+      }
+
+   }
+
+   public void close() throws IOException {
+      try {
+         this.finish();
+      } finally {
+         this.out.close();
+      }
+
+   }
+
+   private void flushBlock() throws IOException {
+      if (this.count != 0) {
+         int i = Lz4.xxHash32(this.buffer, 0, this.count, -1756908916) & 268435455;
+         int j = Lz4.compress(this.buffer, 0, this.count, this.compressedBuffer, 21);
+         int k;
+         if (j >= this.count) {
+            System.arraycopy(this.buffer, 0, this.compressedBuffer, 21, this.count);
+            j = this.count;
+            k = 16;
+         } else {
+            k = 32;
+         }
+
+         writeHeader(this.compressedBuffer, k | this.compressionLevel, j, this.count, i);
+         this.out.write(this.compressedBuffer, 0, 21 + j);
+         this.count = 0;
+      }
+   }
+
+   private void ensureNotFinished() throws IOException {
+      if (this.finished) {
+         throw new IOException("Stream is already finished");
+      }
+   }
+
+   private static void writeHeader(byte[] p_295057_, int p_295058_, int p_295059_, int p_295060_, int p_295061_) {
+      System.arraycopy(MAGIC, 0, p_295057_, 0, MAGIC.length);
+      p_295057_[8] = (byte)p_295058_;
+      Lz4.writeIntLE(p_295057_, 9, p_295059_);
+      Lz4.writeIntLE(p_295057_, 13, p_295060_);
+      Lz4.writeIntLE(p_295057_, 17, p_295061_);
+   }
+}
@@ -0,0 +1,60 @@
+package net.minecraft.util.profiling.metrics;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+   private static final int BUCKET_COUNT = 40;
+   private final AtomicLongArray buckets = new AtomicLongArray(40);
+
+   public void record(long p_295101_) {
+      this.buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(Math.max(p_295101_, 1L)), 39));
+   }
+
+   public long count() {
+      long i = 0L;
+
+      for(int j = 0; j < 40; ++j) {
+         i += this.buckets.get(j);
+      }
+
+      return i;
+   }
+
+   public double percentileMillis(double p_295102_) {
+      long i = this.count();
+      if (i == 0L) {
+         return 0.0D;
+      } else {
+         long j = Math.max(1L, (long)Math.ceil((double)i * p_295102_));
+         long k = 0L;
+
+         for(int l = 0; l < 40; ++l) {
+            k += this.buckets.get(l);
+            if (k >= j) {
+               return (double)(1L << l) / 1000000.0D;
+            }
+         }
+
+         return (double)(1L << 39) / 1000000.0D;
+      }
+   }
+
+   public void reset() {
+      for(int i = 0; i < 40; ++i) {
+         this.buckets.set(i, 0L);
+      }
+
+   }
+
+   public List<MetricSampler> samplers(String p_295103_, MetricCategory p_295104_) {
+      return ImmutableList.of(MetricSampler.builder(p_295103_ + "-count", p_295104_, (p_295105_) -> {
+         return (double)p_295105_.count();
+      }, this).withBeforeTick(LatencyHistogram::reset).build(), MetricSampler.create(p_295103_ + "-p50-ms", p_295104_, this, (p_295106_) -> {
+         return p_295106_.percentileMillis(0.5D);
+      }), MetricSampler.create(p_295103_ + "-p99-ms", p_295104_, this, (p_295107_) -> {
+         return p_295107_.percentileMillis(0.99D);
+      }));
+   }
+}
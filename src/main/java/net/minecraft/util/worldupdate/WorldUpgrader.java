@@ -17,6 +17,7 @@ import java.util.ListIterator;
 import java.util.Set;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -34,6 +35,7 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.chunk.storage.ChunkStorage;
 import net.minecraft.world.level.chunk.storage.RegionFile;
+import net.minecraft.world.level.chunk.storage.RegionFileVersion;
 import net.minecraft.world.level.dimension.LevelStem;
 import net.minecraft.world.level.storage.DimensionDataStorage;
 import net.minecraft.world.level.storage.LevelStorageSource;
@@ -45,6 +47,8 @@ public class WorldUpgrader {
    private final Registry<LevelStem> dimensions;
    private final Set<ResourceKey<Level>> levels;
    private final boolean eraseCache;
+   private final boolean recreateRegionFiles;
+   private final Function<ResourceKey<Level>, RegionFileVersion> regionFileVersions;
    private final LevelStorageSource.LevelStorageAccess levelStorage;
    private final Thread thread;
    private final DataFixer dataFixer;
@@ -57,12 +61,21 @@ public class WorldUpgrader {
    private final Object2FloatMap<ResourceKey<Level>> progressMap = Object2FloatMaps.synchronize(new Object2FloatOpenCustomHashMap<>(Util.identityStrategy()));
    private volatile Component status = Component.translatable("optimizeWorld.stage.counting");
    private static final Pattern REGEX = Pattern.compile("^r\\.(-?[0-9]+)\\.(-?[0-9]+)\\.mca$");
+   private static final List<String> RECREATED_STORAGES = List.of("entities", "poi");
    private final DimensionDataStorage overworldDataStorage;
 
    public WorldUpgrader(LevelStorageSource.LevelStorageAccess p_249922_, DataFixer p_250273_, Registry<LevelStem> p_252191_, boolean p_250738_) {
+      this(p_249922_, p_250273_, p_252191_, p_250738_, false, (p_295359_) -> {
+         return RegionFileVersion.DEFAULT;
+      });
+   }
+
+   public WorldUpgrader(LevelStorageSource.LevelStorageAccess p_249922_, DataFixer p_250273_, Registry<LevelStem> p_252191_, boolean p_250738_, boolean p_299510_, Function<ResourceKey<Level>, RegionFileVersion> p_295360_) {
       this.dimensions = p_252191_;
       this.levels = p_252191_.registryKeySet().stream().map(Registries::levelStemToLevel).collect(Collectors.toUnmodifiableSet());
       this.eraseCache = p_250738_;
+      this.recreateRegionFiles = p_299510_;
+      this.regionFileVersions = p_295360_;
       this.dataFixer = p_250273_;
       this.levelStorage = p_249922_;
       this.overworldDataStorage = new DimensionDataStorage(this.levelStorage.getDimensionPath(Level.OVERWORLD).resolve("data").toFile(), p_250273_);
@@ -88,11 +101,22 @@ public class WorldUpgrader {
    private void work() {
       this.totalChunks = 0;
       ImmutableMap.Builder<ResourceKey<Level>, ListIterator<ChunkPos>> builder = ImmutableMap.builder();
+      List<WorldUpgrader.RecreatedStorage> list1 = Lists.newArrayList();
 
       for(ResourceKey<Level> resourcekey : this.levels) {
          List<ChunkPos> list = this.getAllChunkPos(resourcekey);
          builder.put(resourcekey, list.listIterator());
          this.totalChunks += list.size();
+         if (this.recreateRegionFiles) {
+            for(String s : RECREATED_STORAGES) {
+               Path path = this.levelStorage.getDimensionPath(resourcekey).resolve(s);
+               List<ChunkPos> list2 = this.getAllChunkPos(path.toFile());
+               if (!list2.isEmpty()) {
+                  list1.add(new WorldUpgrader.RecreatedStorage(resourcekey, path, list2));
+                  this.totalChunks += list2.size();
+               }
+            }
+         }
       }
 
       if (this.totalChunks == 0) {
@@ -104,7 +128,7 @@ public class WorldUpgrader {
 
          for(ResourceKey<Level> resourcekey1 : this.levels) {
             Path path = this.levelStorage.getDimensionPath(resourcekey1);
-            builder1.put(resourcekey1, new ChunkStorage(path.resolve("region"), this.dataFixer, true));
+            builder1.put(resourcekey1, new ChunkStorage(path.resolve("region"), this.dataFixer, true, this.regionFileVersions.apply(resourcekey1)));
          }
 
          ImmutableMap<ResourceKey<Level>, ChunkStorage> immutablemap1 = builder1.build();
@@ -135,7 +159,7 @@ public class WorldUpgrader {
                            LOGGER.warn("Chunk {} has invalid position {}", chunkpos, chunkpos1);
                         }
 
-                        boolean flag2 = k < SharedConstants.getCurrentVersion().getDataVersion().getVersion();
+                        boolean flag2 = k < SharedConstants.getCurrentVersion().getDataVersion().getVersion() || this.recreateRegionFiles;
                         if (this.eraseCache) {
                            flag2 = flag2 || compoundtag1.contains("Heightmaps");
                            compoundtag1.remove("Heightmaps");
@@ -182,10 +206,19 @@ public class WorldUpgrader {
 
             this.progress = f;
             if (!flag) {
-               this.running = false;
+               break;
+            }
+         }
+
+         for(WorldUpgrader.RecreatedStorage worldupgrader$recreatedstorage : list1) {
+            if (!this.running) {
+               break;
             }
+
+            this.recreateStorage(worldupgrader$recreatedstorage, f1);
          }
 
+         this.running = false;
          this.status = Component.translatable("optimizeWorld.stage.finished");
 
          for(ChunkStorage chunkstorage1 : immutablemap1.values()) {
@@ -203,10 +236,48 @@ public class WorldUpgrader {
       }
    }
 
+   private void recreateStorage(WorldUpgrader.RecreatedStorage p_296187_, float p_296188_) {
+      ResourceKey<Level> resourcekey = p_296187_.level();
+
+      try (ChunkStorage chunkstorage = new ChunkStorage(p_296187_.path(), this.dataFixer, true, this.regionFileVersions.apply(resourcekey))) {
+         for(ChunkPos chunkpos : p_296187_.chunks()) {
+            if (!this.running) {
+               break;
+            }
+
+            boolean flag = false;
+
+            try {
+               CompoundTag compoundtag = chunkstorage.read(chunkpos).join().orElse((CompoundTag)null);
+               if (compoundtag != null) {
+                  chunkstorage.write(chunkpos, compoundtag);
+                  flag = true;
+               }
+            } catch (CompletionException completionexception) {
+               LOGGER.error("Error recreating chunk {} in {}", chunkpos, p_296187_.path(), completionexception.getCause());
+            }
+
+            if (flag) {
+               ++this.converted;
+            } else {
+               ++this.skipped;
+            }
+
+            this.progressMap.put(resourcekey, this.progressMap.getFloat(resourcekey) + 1.0F / p_296188_);
+            this.progress += 1.0F / p_296188_;
+         }
+      } catch (IOException ioexception) {
+         LOGGER.error("Error recreating region files in {}", p_296187_.path(), ioexception);
+      }
+
+   }
+
    private List<ChunkPos> getAllChunkPos(ResourceKey<Level> p_18831_) {
-      File file1 = this.levelStorage.getDimensionPath(p_18831_).toFile();
-      File file2 = new File(file1, "region");
-      File[] afile = file2.listFiles((p_18822_, p_18823_) -> {
+      return this.getAllChunkPos(new File(this.levelStorage.getDimensionPath(p_18831_).toFile(), "region"));
+   }
+
+   private List<ChunkPos> getAllChunkPos(File p_296189_) {
+      File[] afile = p_296189_.listFiles((p_18822_, p_18823_) -> {
          return p_18823_.endsWith(".mca");
       });
       if (afile == null) {
@@ -220,7 +291,7 @@ public class WorldUpgrader {
                int i = Integer.parseInt(matcher.group(1)) << 5;
                int j = Integer.parseInt(matcher.group(2)) << 5;
 
-               try (RegionFile regionfile = new RegionFile(file3.toPath(), file2.toPath(), true)) {
+               try (RegionFile regionfile = new RegionFile(file3.toPath(), p_296189_.toPath(), true)) {
                   for(int k = 0; k < 32; ++k) {
                      for(int l = 0; l < 32; ++l) {
                         ChunkPos chunkpos = new ChunkPos(k + i, l + j);
@@ -269,4 +340,7 @@ public class WorldUpgrader {
    public Component getStatus() {
       return this.status;
    }
+
+   static record RecreatedStorage(ResourceKey<Level> level, Path path, List<ChunkPos> chunks) {
+   }
 }
\ No newline at end of file
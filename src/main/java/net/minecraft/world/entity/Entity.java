@@ -36,8 +36,6 @@ import net.minecraft.core.SectionPos;
 import net.minecraft.core.particles.BlockParticleOption;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.DoubleTag;
-import net.minecraft.nbt.FloatTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
 import net.minecraft.network.chat.ClickEvent;
@@ -1760,23 +1758,11 @@ public abstract class Entity implements Nameable, EntityAccess, CommandSource {
    protected abstract void addAdditionalSaveData(CompoundTag p_20139_);
 
    protected ListTag newDoubleList(double... p_20064_) {
-      ListTag listtag = new ListTag();
-
-      for(double d0 : p_20064_) {
-         listtag.add(DoubleTag.valueOf(d0));
-      }
-
-      return listtag;
+      return ListTag.ofDoubles(p_20064_);
    }
 
    protected ListTag newFloatList(float... p_20066_) {
-      ListTag listtag = new ListTag();
-
-      for(float f : p_20066_) {
-         listtag.add(FloatTag.valueOf(f));
-      }
-
-      return listtag;
+      return ListTag.ofFloats(p_20066_);
    }
 
    @Nullable
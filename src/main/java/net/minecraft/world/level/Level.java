@@ -575,6 +575,10 @@ public abstract class Level implements LevelAccessor, AutoCloseable {
       return this.getChunk(p_46711_, p_46712_, ChunkStatus.FULL, false);
    }
 
+   public long getEntityChangeStamp(AABB p_295397_) {
+      return this.getEntities().getChangeStamp(p_295397_);
+   }
+
    public List<Entity> getEntities(@Nullable Entity p_46536_, AABB p_46537_, Predicate<? super Entity> p_46538_) {
       this.getProfiler().incrementCounter("getEntities");
       List<Entity> list = Lists.newArrayList();
@@ -2,8 +2,14 @@ package net.minecraft.world.level.block;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.ArrayDeque;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import javax.annotation.Nullable;
 import net.minecraft.Util;
@@ -17,6 +23,7 @@ import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.LevelReader;
@@ -221,6 +228,11 @@ public class RedStoneWireBlock extends Block {
    private void updatePowerStrength(Level p_55531_, BlockPos p_55532_, BlockState p_55533_) {
       int i = this.calculateTargetStrength(p_55531_, p_55532_);
       if (p_55533_.getValue(POWER) != i) {
+         if (p_55531_.getGameRules().getBoolean(GameRules.RULE_REDSTONE_WIRE_NETWORK_UPDATES) && p_55531_.getBlockState(p_55532_) == p_55533_) {
+            this.updateNetworkPowerStrength(p_55531_, p_55532_, p_55533_);
+            return;
+         }
+
          if (p_55531_.getBlockState(p_55532_) == p_55533_) {
             p_55531_.setBlock(p_55532_, p_55533_.setValue(POWER, Integer.valueOf(i)), 2);
          }
@@ -239,6 +251,96 @@ public class RedStoneWireBlock extends Block {
 
    }
 
+   private void updateNetworkPowerStrength(Level p_295324_, BlockPos p_295325_, BlockState p_295326_) {
+      Long2ObjectMap<RedStoneWireBlock.WireNode> long2objectmap = new Long2ObjectOpenHashMap<>();
+      List<RedStoneWireBlock.WireNode> list = Lists.newArrayList();
+      Queue<RedStoneWireBlock.WireNode> queue = new ArrayDeque<>();
+      RedStoneWireBlock.WireNode redstonewireblock$wirenode = new RedStoneWireBlock.WireNode(p_295325_, p_295326_);
+      long2objectmap.put(p_295325_.asLong(), redstonewireblock$wirenode);
+      queue.add(redstonewireblock$wirenode);
+
+      while(!queue.isEmpty()) {
+         RedStoneWireBlock.WireNode redstonewireblock$wirenode1 = queue.poll();
+         list.add(redstonewireblock$wirenode1);
+         BlockPos blockpos = redstonewireblock$wirenode1.pos;
+         this.shouldSignal = false;
+         redstonewireblock$wirenode1.power = p_295324_.getBestNeighborSignal(blockpos);
+         this.shouldSignal = true;
+         BlockPos blockpos1 = blockpos.above();
+         boolean flag = p_295324_.getBlockState(blockpos1).isRedstoneConductor(p_295324_, blockpos1);
+
+         for(Direction direction : Direction.Plane.HORIZONTAL) {
+            BlockPos blockpos2 = blockpos.relative(direction);
+            BlockState blockstate = p_295324_.getBlockState(blockpos2);
+            this.linkWire(p_295324_, long2objectmap, queue, redstonewireblock$wirenode1, blockpos2, blockstate);
+            if (blockstate.isRedstoneConductor(p_295324_, blockpos2)) {
+               if (!flag) {
+                  BlockPos blockpos3 = blockpos2.above();
+                  this.linkWire(p_295324_, long2objectmap, queue, redstonewireblock$wirenode1, blockpos3, p_295324_.getBlockState(blockpos3));
+               }
+            } else {
+               BlockPos blockpos4 = blockpos2.below();
+               this.linkWire(p_295324_, long2objectmap, queue, redstonewireblock$wirenode1, blockpos4, p_295324_.getBlockState(blockpos4));
+            }
+         }
+      }
+
+      for(RedStoneWireBlock.WireNode redstonewireblock$wirenode2 : list) {
+         if (redstonewireblock$wirenode2.power > 1) {
+            queue.add(redstonewireblock$wirenode2);
+         }
+      }
+
+      while(!queue.isEmpty()) {
+         RedStoneWireBlock.WireNode redstonewireblock$wirenode3 = queue.poll();
+         int i = redstonewireblock$wirenode3.power - 1;
+
+         for(RedStoneWireBlock.WireNode redstonewireblock$wirenode4 : redstonewireblock$wirenode3.readers) {
+            if (redstonewireblock$wirenode4.power < i) {
+               redstonewireblock$wirenode4.power = i;
+               if (i > 1) {
+                  queue.add(redstonewireblock$wirenode4);
+               }
+            }
+         }
+      }
+
+      Set<BlockPos> set = Sets.newLinkedHashSet();
+
+      for(RedStoneWireBlock.WireNode redstonewireblock$wirenode5 : list) {
+         BlockState blockstate1 = redstonewireblock$wirenode5.state;
+         if (blockstate1.getValue(POWER) != redstonewireblock$wirenode5.power) {
+            if (p_295324_.getBlockState(redstonewireblock$wirenode5.pos) == blockstate1) {
+               p_295324_.setBlock(redstonewireblock$wirenode5.pos, blockstate1.setValue(POWER, Integer.valueOf(redstonewireblock$wirenode5.power)), 2);
+            }
+
+            set.add(redstonewireblock$wirenode5.pos);
+
+            for(Direction direction1 : Direction.values()) {
+               set.add(redstonewireblock$wirenode5.pos.relative(direction1));
+            }
+         }
+      }
+
+      for(BlockPos blockpos5 : set) {
+         p_295324_.updateNeighborsAt(blockpos5, this);
+      }
+
+   }
+
+   private void linkWire(Level p_295327_, Long2ObjectMap<RedStoneWireBlock.WireNode> p_295328_, Queue<RedStoneWireBlock.WireNode> p_295329_, RedStoneWireBlock.WireNode p_295330_, BlockPos p_295331_, BlockState p_295332_) {
+      if (p_295332_.is(this) && p_295327_.isLoaded(p_295331_)) {
+         RedStoneWireBlock.WireNode redstonewireblock$wirenode = p_295328_.get(p_295331_.asLong());
+         if (redstonewireblock$wirenode == null) {
+            redstonewireblock$wirenode = new RedStoneWireBlock.WireNode(p_295331_, p_295332_);
+            p_295328_.put(p_295331_.asLong(), redstonewireblock$wirenode);
+            p_295329_.add(redstonewireblock$wirenode);
+         }
+
+         redstonewireblock$wirenode.readers.add(p_295330_);
+      }
+   }
+
    private int calculateTargetStrength(Level p_55528_, BlockPos p_55529_) {
       this.shouldSignal = false;
       int i = p_55528_.getBestNeighborSignal(p_55529_);
@@ -461,4 +563,16 @@ public class RedStoneWireBlock extends Block {
       }
 
    }
-}
\ No newline at end of file
+
+   static class WireNode {
+      final BlockPos pos;
+      final BlockState state;
+      final List<RedStoneWireBlock.WireNode> readers = Lists.newArrayListWithCapacity(4);
+      int power;
+
+      WireNode(BlockPos p_295333_, BlockState p_295334_) {
+         this.pos = p_295333_;
+         this.state = p_295334_;
+      }
+   }
+}
@@ -1,10 +1,12 @@
 package net.minecraft.world.level.block.entity;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nullable;
+import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.NonNullList;
@@ -37,6 +39,12 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
    private NonNullList<ItemStack> items = NonNullList.withSize(5, ItemStack.EMPTY);
    private int cooldownTime = -1;
    private long tickedGameTime;
+   private final BlockState[] blockContainerStates = new BlockState[6];
+   private final Container[] blockContainers = new Container[6];
+   private final long[] emptyContainerScans = Util.make(new long[6], (p_295336_) -> {
+      Arrays.fill(p_295336_, -1L);
+   });
+   private long emptyItemScan = -1L;
 
    public HopperBlockEntity(BlockPos p_155550_, BlockState p_155551_) {
       super(BlockEntityType.HOPPER, p_155550_, p_155551_);
@@ -130,8 +138,8 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
       return true;
    }
 
-   private static boolean ejectItems(Level p_155563_, BlockPos p_155564_, BlockState p_155565_, Container p_155566_) {
-      Container container = getAttachedContainer(p_155563_, p_155564_, p_155565_);
+   private static boolean ejectItems(Level p_155563_, BlockPos p_155564_, BlockState p_155565_, HopperBlockEntity p_155566_) {
+      Container container = p_155566_.getContainerFacing(p_155563_, p_155565_.getValue(HopperBlock.FACING));
       if (container == null) {
          return false;
       } else {
@@ -182,7 +190,7 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
             return tryTakeInItemFromSlot(p_155554_, container, p_59363_, direction);
          });
       } else {
-         for(ItemEntity itementity : getItemsAtAndAbove(p_155553_, p_155554_)) {
+         for(ItemEntity itementity : p_155554_ instanceof HopperBlockEntity hopperblockentity ? hopperblockentity.getItemsToSuck(p_155553_) : getItemsAtAndAbove(p_155553_, p_155554_)) {
             if (addItem(p_155554_, itementity)) {
                return true;
             }
@@ -316,14 +324,58 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
    }
 
    @Nullable
-   private static Container getAttachedContainer(Level p_155593_, BlockPos p_155594_, BlockState p_155595_) {
-      Direction direction = p_155595_.getValue(HopperBlock.FACING);
-      return getContainerAt(p_155593_, p_155594_.relative(direction));
+   private static Container getSourceContainer(Level p_155597_, Hopper p_155598_) {
+      return p_155598_ instanceof HopperBlockEntity hopperblockentity ? hopperblockentity.getContainerFacing(p_155597_, Direction.UP) : getContainerAt(p_155597_, p_155598_.getLevelX(), p_155598_.getLevelY() + 1.0D, p_155598_.getLevelZ());
    }
 
    @Nullable
-   private static Container getSourceContainer(Level p_155597_, Hopper p_155598_) {
-      return getContainerAt(p_155597_, p_155598_.getLevelX(), p_155598_.getLevelY() + 1.0D, p_155598_.getLevelZ());
+   private Container getContainerFacing(Level p_295337_, Direction p_295338_) {
+      BlockPos blockpos = this.worldPosition.relative(p_295338_);
+      int i = p_295338_.get3DDataValue();
+      BlockState blockstate = p_295337_.getBlockState(blockpos);
+      Container container;
+      if (blockstate == this.blockContainerStates[i] && isCachedBlockContainerValid(this.blockContainers[i])) {
+         container = this.blockContainers[i];
+      } else {
+         container = getBlockContainerAt(p_295337_, blockpos, blockstate);
+         boolean flag = container instanceof BlockEntity || container == null && !blockstate.hasBlockEntity() && !(blockstate.getBlock() instanceof WorldlyContainerHolder);
+         this.blockContainerStates[i] = flag ? blockstate : null;
+         this.blockContainers[i] = flag ? container : null;
+      }
+
+      if (container == null) {
+         long j = p_295337_.getEntityChangeStamp(new AABB(blockpos));
+         if (this.emptyContainerScans[i] != j) {
+            container = getEntityContainerAt(p_295337_, (double)blockpos.getX() + 0.5D, (double)blockpos.getY() + 0.5D, (double)blockpos.getZ() + 0.5D);
+            if (container == null) {
+               this.emptyContainerScans[i] = j;
+            }
+         }
+      }
+
+      return container;
+   }
+
+   private static boolean isCachedBlockContainerValid(@Nullable Container p_295402_) {
+      if (p_295402_ instanceof BlockEntity blockentity) {
+         return !blockentity.isRemoved();
+      } else {
+         return true;
+      }
+   }
+
+   private List<ItemEntity> getItemsToSuck(Level p_295339_) {
+      long i = p_295339_.getEntityChangeStamp(this.getSuckShape().bounds().move(this.worldPosition));
+      if (this.emptyItemScan == i) {
+         return List.of();
+      } else {
+         List<ItemEntity> list = getItemsAtAndAbove(p_295339_, this);
+         if (list.isEmpty()) {
+            this.emptyItemScan = i;
+         }
+
+         return list;
+      }
    }
 
    public static List<ItemEntity> getItemsAtAndAbove(Level p_155590_, Hopper p_155591_) {
@@ -339,32 +391,45 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
 
    @Nullable
    private static Container getContainerAt(Level p_59348_, double p_59349_, double p_59350_, double p_59351_) {
+      Container container = getBlockContainerAt(p_59348_, p_59349_, p_59350_, p_59351_);
+      if (container == null) {
+         container = getEntityContainerAt(p_59348_, p_59349_, p_59350_, p_59351_);
+      }
+
+      return container;
+   }
+
+   @Nullable
+   private static Container getBlockContainerAt(Level p_295340_, double p_295341_, double p_295342_, double p_295343_) {
+      BlockPos blockpos = BlockPos.containing(p_295341_, p_295342_, p_295343_);
+      return getBlockContainerAt(p_295340_, blockpos, p_295340_.getBlockState(blockpos));
+   }
+
+   @Nullable
+   private static Container getBlockContainerAt(Level p_295403_, BlockPos p_295404_, BlockState p_295405_) {
       Container container = null;
-      BlockPos blockpos = BlockPos.containing(p_59349_, p_59350_, p_59351_);
-      BlockState blockstate = p_59348_.getBlockState(blockpos);
-      Block block = blockstate.getBlock();
+      Block block = p_295405_.getBlock();
       if (block instanceof WorldlyContainerHolder) {
-         container = ((WorldlyContainerHolder)block).getContainer(blockstate, p_59348_, blockpos);
-      } else if (blockstate.hasBlockEntity()) {
-         BlockEntity blockentity = p_59348_.getBlockEntity(blockpos);
+         container = ((WorldlyContainerHolder)block).getContainer(p_295405_, p_295403_, p_295404_);
+      } else if (p_295405_.hasBlockEntity()) {
+         BlockEntity blockentity = p_295403_.getBlockEntity(p_295404_);
          if (blockentity instanceof Container) {
             container = (Container)blockentity;
             if (container instanceof ChestBlockEntity && block instanceof ChestBlock) {
-               container = ChestBlock.getContainer((ChestBlock)block, blockstate, p_59348_, blockpos, true);
+               container = ChestBlock.getContainer((ChestBlock)block, p_295405_, p_295403_, p_295404_, true);
             }
          }
       }
 
-      if (container == null) {
-         List<Entity> list = p_59348_.getEntities((Entity)null, new AABB(p_59349_ - 0.5D, p_59350_ - 0.5D, p_59351_ - 0.5D, p_59349_ + 0.5D, p_59350_ + 0.5D, p_59351_ + 0.5D), EntitySelector.CONTAINER_ENTITY_SELECTOR);
-         if (!list.isEmpty()) {
-            container = (Container)list.get(p_59348_.random.nextInt(list.size()));
-         }
-      }
-
       return container;
    }
 
+   @Nullable
+   private static Container getEntityContainerAt(Level p_295344_, double p_295345_, double p_295346_, double p_295347_) {
+      List<Entity> list = p_295344_.getEntities((Entity)null, new AABB(p_295345_ - 0.5D, p_295346_ - 0.5D, p_295347_ - 0.5D, p_295345_ + 0.5D, p_295346_ + 0.5D, p_295347_ + 0.5D), EntitySelector.CONTAINER_ENTITY_SELECTOR);
+      return list.isEmpty() ? null : (Container)list.get(p_295344_.random.nextInt(list.size()));
+   }
+
    private static boolean canMergeItems(ItemStack p_59345_, ItemStack p_59346_) {
       return p_59345_.getCount() <= p_59345_.getMaxStackSize() && ItemStack.isSameItemSameTags(p_59345_, p_59346_);
    }
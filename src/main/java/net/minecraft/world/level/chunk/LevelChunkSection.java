@@ -1,6 +1,9 @@
 package net.minecraft.world.level.chunk;
 
+import it.unimi.dsi.fastutil.shorts.Short2ShortOpenHashMap;
+import java.util.Arrays;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
 import net.minecraft.network.FriendlyByteBuf;
@@ -18,11 +21,19 @@ public class LevelChunkSection {
    public static final int SECTION_HEIGHT = 16;
    public static final int SECTION_SIZE = 4096;
    public static final int BIOME_CONTAINER_BITS = 2;
+   private static final int MAX_SPARSE_RANDOM_TICK_POSITIONS = 1024;
    private short nonEmptyBlockCount;
    private short tickingBlockCount;
    private short tickingFluidCount;
    private final PalettedContainer<BlockState> states;
    private PalettedContainerRO<Holder<Biome>> biomes;
+   @Nullable
+   private short[] randomTickPositions;
+   @Nullable
+   private Short2ShortOpenHashMap sparseRandomTickPositionSlots;
+   @Nullable
+   private short[] randomTickPositionSlots;
+   private int randomTickPositionCount;
 
    public LevelChunkSection(PalettedContainer<BlockState> p_282846_, PalettedContainerRO<Holder<Biome>> p_281695_) {
       this.states = p_282846_;
@@ -87,9 +98,118 @@ public class LevelChunkSection {
          ++this.tickingFluidCount;
       }
 
+      if (this.randomTickPositions != null && !this.isRandomlyTicking()) {
+         this.releaseRandomTickPositions();
+      } else if (this.randomTickPositions != null) {
+         boolean flag = blockstate.isRandomlyTicking() || fluidstate.isRandomlyTicking();
+         boolean flag1 = p_62995_.isRandomlyTicking() || fluidstate1.isRandomlyTicking();
+         if (flag != flag1) {
+            short short1 = (short)(p_62993_ << 8 | p_62994_ << 4 | p_62992_);
+            if (flag1) {
+               this.addRandomTickPosition(short1);
+            } else {
+               this.removeRandomTickPosition(short1);
+            }
+         }
+      }
+
       return blockstate;
    }
 
+   public int getRandomTickPositionCount() {
+      if (this.randomTickPositions == null && this.isRandomlyTicking()) {
+         this.buildRandomTickPositions();
+      }
+
+      return this.randomTickPositionCount;
+   }
+
+   public int getRandomTickPosition(int p_295308_) {
+      return this.randomTickPositions[p_295308_];
+   }
+
+   public void releaseRandomTickPositions() {
+      this.randomTickPositions = null;
+      this.sparseRandomTickPositionSlots = null;
+      this.randomTickPositionSlots = null;
+      this.randomTickPositionCount = 0;
+   }
+
+   private void buildRandomTickPositions() {
+      this.randomTickPositions = new short[16];
+      this.randomTickPositionCount = 0;
+
+      for(int i = 0; i < 4096; ++i) {
+         BlockState blockstate = this.states.get(i & 15, i >> 8 & 15, i >> 4 & 15);
+         if (blockstate.isRandomlyTicking() || blockstate.getFluidState().isRandomlyTicking()) {
+            this.addRandomTickPosition((short)i);
+         }
+      }
+
+   }
+
+   private void addRandomTickPosition(short p_295309_) {
+      int i = this.randomTickPositionCount;
+      if (i == this.randomTickPositions.length) {
+         this.randomTickPositions = Arrays.copyOf(this.randomTickPositions, i * 2);
+      }
+
+      this.randomTickPositions[i] = p_295309_;
+      this.randomTickPositionCount = i + 1;
+      if (this.randomTickPositionSlots == null && i >= 1024) {
+         this.randomTickPositionSlots = new short[4096];
+         this.sparseRandomTickPositionSlots = null;
+
+         for(int j = 0; j < i; ++j) {
+            this.randomTickPositionSlots[this.randomTickPositions[j]] = (short)j;
+         }
+      }
+
+      this.setRandomTickPositionSlot(p_295309_, i);
+   }
+
+   private void removeRandomTickPosition(short p_295310_) {
+      int i = this.getRandomTickPositionSlot(p_295310_);
+      if (i >= 0) {
+         short short1 = this.randomTickPositions[--this.randomTickPositionCount];
+         this.randomTickPositions[i] = short1;
+         this.setRandomTickPositionSlot(short1, i);
+         if (this.sparseRandomTickPositionSlots != null) {
+            this.sparseRandomTickPositionSlots.remove(p_295310_);
+         }
+      }
+
+   }
+
+   private int getRandomTickPositionSlot(short p_295568_) {
+      int i;
+      if (this.randomTickPositionSlots != null) {
+         i = this.randomTickPositionSlots[p_295568_];
+      } else {
+         if (this.sparseRandomTickPositionSlots == null) {
+            return -1;
+         }
+
+         i = this.sparseRandomTickPositionSlots.get(p_295568_);
+      }
+
+      return i >= 0 && i < this.randomTickPositionCount && this.randomTickPositions[i] == p_295568_ ? i : -1;
+   }
+
+   private void setRandomTickPositionSlot(short p_295569_, int p_295570_) {
+      if (this.randomTickPositionSlots != null) {
+         this.randomTickPositionSlots[p_295569_] = (short)p_295570_;
+      } else {
+         if (this.sparseRandomTickPositionSlots == null) {
+            this.sparseRandomTickPositionSlots = new Short2ShortOpenHashMap();
+            this.sparseRandomTickPositionSlots.defaultReturnValue((short)-1);
+         }
+
+         this.sparseRandomTickPositionSlots.put(p_295569_, (short)p_295570_);
+      }
+
+   }
+
    public boolean hasOnlyAir() {
       return this.nonEmptyBlockCount == 0;
    }
@@ -136,6 +256,7 @@ public class LevelChunkSection {
       this.nonEmptyBlockCount = (short)levelchunksection$1blockcounter.nonEmptyBlockCount;
       this.tickingBlockCount = (short)levelchunksection$1blockcounter.tickingBlockCount;
       this.tickingFluidCount = (short)levelchunksection$1blockcounter.tickingFluidCount;
+      this.releaseRandomTickPositions();
    }
 
    public PalettedContainer<BlockState> getStates() {
@@ -147,6 +268,7 @@ public class LevelChunkSection {
    }
 
    public void read(FriendlyByteBuf p_63005_) {
+      this.releaseRandomTickPositions();
       this.nonEmptyBlockCount = p_63005_.readShort();
       this.states.read(p_63005_);
       PalettedContainer<Holder<Biome>> palettedcontainer = this.biomes.recreate();
@@ -31,6 +31,7 @@ public class PalettedContainer<T> implements PaletteResize<T>, PalettedContainer
    };
    private final IdMap<T> registry;
    private volatile PalettedContainer.Data<T> data;
+   private boolean dataShared;
    private final PalettedContainer.Strategy strategy;
    private final ThreadingDetector threadingDetector = new ThreadingDetector("PalettedContainer");
 
@@ -116,6 +117,7 @@ public class PalettedContainer<T> implements PaletteResize<T>, PalettedContainer
    }
 
    private T getAndSet(int p_63097_, T p_63098_) {
+      this.unshareData();
       int i = this.data.palette.idFor(p_63098_);
       int j = this.data.storage.getAndSet(p_63097_, i);
       return this.data.palette.valueFor(j);
@@ -133,6 +135,7 @@ public class PalettedContainer<T> implements PaletteResize<T>, PalettedContainer
    }
 
    private void set(int p_63133_, T p_63134_) {
+      this.unshareData();
       int i = this.data.palette.idFor(p_63134_);
       this.data.storage.set(p_63133_, i);
    }
@@ -160,10 +163,11 @@ public class PalettedContainer<T> implements PaletteResize<T>, PalettedContainer
 
       try {
          int i = p_63119_.readByte();
-         PalettedContainer.Data<T> data = this.createOrReuseData(this.data, i);
+         PalettedContainer.Data<T> data = this.createOrReuseData(this.dataShared ? null : this.data, i);
          data.palette.read(p_63119_);
          p_63119_.readLongArray(data.storage.getRaw());
          this.data = data;
+         this.dataShared = false;
       } finally {
          this.release();
       }
@@ -281,6 +285,19 @@ public class PalettedContainer<T> implements PaletteResize<T>, PalettedContainer
       return new PalettedContainer<>(this.registry, this.strategy, this.data.copy());
    }
 
+   public PalettedContainer<T> copyOnWrite() {
+      this.dataShared = true;
+      return new PalettedContainer<>(this.registry, this.strategy, this.data);
+   }
+
+   private void unshareData() {
+      if (this.dataShared) {
+         this.data = this.data.copy();
+         this.dataShared = false;
+      }
+
+   }
+
    public PalettedContainer<T> recreate() {
       return new PalettedContainer<>(this.registry, this.data.palette.valueFor(0), this.strategy);
    }
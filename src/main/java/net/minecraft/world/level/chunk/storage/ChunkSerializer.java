@@ -7,10 +7,13 @@ import com.mojang.serialization.Dynamic;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.shorts.ShortList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
@@ -248,6 +251,10 @@ public class ChunkSerializer {
    }
 
    public static CompoundTag write(ServerLevel p_63455_, ChunkAccess p_63456_) {
+      return write(p_63455_, p_63456_, false).get();
+   }
+
+   public static Supplier<CompoundTag> write(ServerLevel p_63455_, ChunkAccess p_63456_, boolean p_295130_) {
       ChunkPos chunkpos = p_63456_.getPos();
       CompoundTag compoundtag = NbtUtils.addCurrentDataVersion(new CompoundTag());
       compoundtag.putInt("xPos", chunkpos.x);
@@ -276,7 +283,7 @@ public class ChunkSerializer {
       }
 
       LevelChunkSection[] alevelchunksection = p_63456_.getSections();
-      ListTag listtag = new ListTag();
+      List<ChunkSerializer.SectionSnapshot> list = new ArrayList<>();
       LevelLightEngine levellightengine = p_63455_.getChunkSource().getLightEngine();
       Registry<Biome> registry = p_63455_.registryAccess().registryOrThrow(Registries.BIOME);
       Codec<PalettedContainerRO<Holder<Biome>>> codec = makeBiomeCodec(registry);
@@ -288,29 +295,18 @@ public class ChunkSerializer {
          DataLayer datalayer = levellightengine.getLayerListener(LightLayer.BLOCK).getDataLayerData(SectionPos.of(chunkpos, i));
          DataLayer datalayer1 = levellightengine.getLayerListener(LightLayer.SKY).getDataLayerData(SectionPos.of(chunkpos, i));
          if (flag1 || datalayer != null || datalayer1 != null) {
-            CompoundTag compoundtag1 = new CompoundTag();
+            PalettedContainer<BlockState> palettedcontainer = null;
+            PalettedContainerRO<Holder<Biome>> palettedcontainerro = null;
             if (flag1) {
                LevelChunkSection levelchunksection = alevelchunksection[j];
-               compoundtag1.put("block_states", BLOCK_STATE_CODEC.encodeStart(NbtOps.INSTANCE, levelchunksection.getStates()).getOrThrow(false, LOGGER::error));
-               compoundtag1.put("biomes", codec.encodeStart(NbtOps.INSTANCE, levelchunksection.getBiomes()).getOrThrow(false, LOGGER::error));
+               palettedcontainer = p_295130_ ? levelchunksection.getStates().copyOnWrite() : levelchunksection.getStates();
+               palettedcontainerro = levelchunksection.getBiomes();
             }
 
-            if (datalayer != null && !datalayer.isEmpty()) {
-               compoundtag1.putByteArray("BlockLight", datalayer.getData());
-            }
-
-            if (datalayer1 != null && !datalayer1.isEmpty()) {
-               compoundtag1.putByteArray("SkyLight", datalayer1.getData());
-            }
-
-            if (!compoundtag1.isEmpty()) {
-               compoundtag1.putByte("Y", (byte)i);
-               listtag.add(compoundtag1);
-            }
+            list.add(new ChunkSerializer.SectionSnapshot(i, palettedcontainer, palettedcontainerro, snapshotLight(datalayer, p_295130_), snapshotLight(datalayer1, p_295130_)));
          }
       }
 
-      compoundtag.put("sections", listtag);
       if (flag) {
          compoundtag.putBoolean("isLightOn", true);
       }
@@ -348,13 +344,49 @@ public class ChunkSerializer {
 
       for(Map.Entry<Heightmap.Types, Heightmap> entry : p_63456_.getHeightmaps()) {
          if (p_63456_.getStatus().heightmapsAfter().contains(entry.getKey())) {
-            compoundtag2.put(entry.getKey().getSerializationKey(), new LongArrayTag(entry.getValue().getRawData()));
+            long[] along = p_295130_ ? (long[])entry.getValue().getRawData().clone() : entry.getValue().getRawData();
+            compoundtag2.put(entry.getKey().getSerializationKey(), new LongArrayTag(along));
          }
       }
 
       compoundtag.put("Heightmaps", compoundtag2);
       compoundtag.put("structures", packStructureData(StructurePieceSerializationContext.fromLevel(p_63455_), chunkpos, p_63456_.getAllStarts(), p_63456_.getAllReferences()));
-      return compoundtag;
+      return () -> {
+         ListTag listtag = new ListTag();
+
+         for(ChunkSerializer.SectionSnapshot chunkserializer$sectionsnapshot : list) {
+            CompoundTag compoundtag1 = new CompoundTag();
+            if (chunkserializer$sectionsnapshot.states() != null) {
+               compoundtag1.put("block_states", BLOCK_STATE_CODEC.encodeStart(NbtOps.INSTANCE, chunkserializer$sectionsnapshot.states()).getOrThrow(false, LOGGER::error));
+               compoundtag1.put("biomes", codec.encodeStart(NbtOps.INSTANCE, chunkserializer$sectionsnapshot.biomes()).getOrThrow(false, LOGGER::error));
+            }
+
+            if (chunkserializer$sectionsnapshot.blockLight() != null) {
+               compoundtag1.putByteArray("BlockLight", chunkserializer$sectionsnapshot.blockLight().getData());
+            }
+
+            if (chunkserializer$sectionsnapshot.skyLight() != null) {
+               compoundtag1.putByteArray("SkyLight", chunkserializer$sectionsnapshot.skyLight().getData());
+            }
+
+            if (!compoundtag1.isEmpty()) {
+               compoundtag1.putByte("Y", (byte)chunkserializer$sectionsnapshot.y());
+               listtag.add(compoundtag1);
+            }
+         }
+
+         compoundtag.put("sections", listtag);
+         return compoundtag;
+      };
+   }
+
+   @Nullable
+   private static DataLayer snapshotLight(@Nullable DataLayer p_295131_, boolean p_295132_) {
+      if (p_295131_ != null && !p_295131_.isEmpty()) {
+         return p_295132_ ? p_295131_.copy() : p_295131_;
+      } else {
+         return null;
+      }
    }
 
    private static void saveTicks(ServerLevel p_188236_, CompoundTag p_188237_, ChunkAccess.TicksToSave p_188238_) {
@@ -495,4 +527,7 @@ public class ChunkSerializer {
 
       return listtag;
    }
-}
\ No newline at end of file
+
+   static record SectionSnapshot(int y, @Nullable PalettedContainer<BlockState> states, @Nullable PalettedContainerRO<Holder<Biome>> biomes, @Nullable DataLayer blockLight, @Nullable DataLayer skyLight) {
+   }
+}
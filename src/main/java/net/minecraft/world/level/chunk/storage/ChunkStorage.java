@@ -27,8 +27,16 @@ public class ChunkStorage implements AutoCloseable {
    private volatile LegacyStructureDataHandler legacyStructureHandler;
 
    public ChunkStorage(Path p_196912_, DataFixer p_196913_, boolean p_196914_) {
-      this.fixerUpper = p_196913_;
-      this.worker = new IOWorker(p_196912_, p_196914_, "chunk");
+      this(p_196912_, p_196913_, p_196914_, RegionFileVersion.DEFAULT);
+   }
+
+   public ChunkStorage(Path p_295350_, DataFixer p_295351_, boolean p_295352_, RegionFileVersion p_295353_) {
+      this(p_295350_, p_295351_, p_295352_, p_295353_, 1);
+   }
+
+   public ChunkStorage(Path p_295350_, DataFixer p_295351_, boolean p_295352_, RegionFileVersion p_295353_, int p_295571_) {
+      this.fixerUpper = p_295351_;
+      this.worker = new IOWorker(p_295350_, p_295352_, "chunk", p_295353_, p_295571_);
    }
 
    public boolean isOldChunkAround(ChunkPos p_223452_, int p_223453_) {
@@ -94,6 +102,14 @@ public class ChunkStorage implements AutoCloseable {
 
    }
 
+   public void write(ChunkPos p_295138_, Supplier<CompoundTag> p_295139_) {
+      this.worker.storeDeferred(p_295138_, p_295139_);
+      if (this.legacyStructureHandler != null) {
+         this.legacyStructureHandler.removeIndex(p_295138_.toLong());
+      }
+
+   }
+
    public void flushWorker() {
       this.worker.synchronize(true).join();
    }
@@ -35,11 +35,11 @@ public class EntityStorage implements EntityPersistentStorage<Entity> {
    private final ProcessorMailbox<Runnable> entityDeserializerQueue;
    protected final DataFixer fixerUpper;
 
-   public EntityStorage(ServerLevel p_196924_, Path p_196925_, DataFixer p_196926_, boolean p_196927_, Executor p_196928_) {
+   public EntityStorage(ServerLevel p_196924_, Path p_196925_, DataFixer p_196926_, boolean p_196927_, Executor p_196928_, RegionFileVersion p_295354_, int p_295573_) {
       this.level = p_196924_;
       this.fixerUpper = p_196926_;
       this.entityDeserializerQueue = ProcessorMailbox.create(p_196928_, "entity-deserializer");
-      this.worker = new IOWorker(p_196925_, p_196927_, "entities");
+      this.worker = new IOWorker(p_196925_, p_196927_, "entities", p_295354_, p_295573_);
    }
 
    public CompletableFuture<ChunkEntities<Entity>> loadEntities(ChunkPos p_156551_) {
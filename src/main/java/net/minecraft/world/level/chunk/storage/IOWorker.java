@@ -1,16 +1,21 @@
 package net.minecraft.world.level.chunk.storage;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.mojang.datafixers.util.Either;
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.BitSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -18,28 +23,59 @@ import javax.annotation.Nullable;
 import net.minecraft.Util;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.StreamTagVisitor;
 import net.minecraft.nbt.Tag;
 import net.minecraft.nbt.visitors.CollectFields;
 import net.minecraft.nbt.visitors.FieldSelector;
+import net.minecraft.util.Mth;
 import net.minecraft.util.Unit;
+import net.minecraft.util.profiling.metrics.LatencyHistogram;
+import net.minecraft.util.profiling.metrics.MetricCategory;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.util.profiling.metrics.ProfilerMeasured;
 import net.minecraft.util.thread.ProcessorMailbox;
 import net.minecraft.util.thread.StrictQueue;
 import net.minecraft.world.level.ChunkPos;
 import org.slf4j.Logger;
 
-public class IOWorker implements ChunkScanAccess, AutoCloseable {
+public class IOWorker implements ChunkScanAccess, ProfilerMeasured, AutoCloseable {
    private static final Logger LOGGER = LogUtils.getLogger();
+   public static final int MAX_THREADS = 16;
    private final AtomicBoolean shutdownRequested = new AtomicBoolean();
-   private final ProcessorMailbox<StrictQueue.IntRunnable> mailbox;
-   private final RegionFileStorage storage;
-   private final Map<ChunkPos, IOWorker.PendingStore> pendingWrites = Maps.newLinkedHashMap();
+   private final String name;
+   private final IOWorker.Shard[] shards;
    private final Long2ObjectLinkedOpenHashMap<CompletableFuture<BitSet>> regionCacheForBlender = new Long2ObjectLinkedOpenHashMap<>();
+   private final LatencyHistogram loadLatency = new LatencyHistogram();
+   private final LatencyHistogram storeLatency = new LatencyHistogram();
    private static final int REGION_CACHE_SIZE = 1024;
 
    protected IOWorker(Path p_196930_, boolean p_196931_, String p_196932_) {
-      this.storage = new RegionFileStorage(p_196930_, p_196931_);
-      this.mailbox = new ProcessorMailbox<>(new StrictQueue.FixedPriorityQueue(IOWorker.Priority.values().length), Util.ioPool(), "IOWorker-" + p_196932_);
+      this(p_196930_, p_196931_, p_196932_, RegionFileVersion.DEFAULT, 1);
+   }
+
+   protected IOWorker(Path p_196930_, boolean p_196931_, String p_196932_, RegionFileVersion p_295349_, int p_295110_) {
+      this.name = p_196932_;
+      int i = Mth.clamp(p_295110_, 1, 16);
+      this.shards = new IOWorker.Shard[i];
+
+      for(int j = 0; j < i; ++j) {
+         RegionFileStorage regionfilestorage = new RegionFileStorage(p_196930_, p_196931_, Math.max(256 / i, 16), p_295349_);
+         String s = i == 1 ? "IOWorker-" + p_196932_ : "IOWorker-" + p_196932_ + "-" + j;
+         this.shards[j] = new IOWorker.Shard(regionfilestorage, new ProcessorMailbox<>(new StrictQueue.FixedPriorityQueue(IOWorker.Priority.values().length), Util.ioPool(), s));
+      }
+
+      MetricsRegistry.INSTANCE.add(this);
+   }
+
+   private IOWorker.Shard getShard(ChunkPos p_295111_) {
+      if (this.shards.length == 1) {
+         return this.shards[0];
+      } else {
+         long i = HashCommon.mix(ChunkPos.asLong(p_295111_.getRegionX(), p_295111_.getRegionZ()));
+         return this.shards[(int)Long.remainderUnsigned(i, (long)this.shards.length)];
+      }
    }
 
    public boolean isOldChunkAround(ChunkPos p_223472_, int p_223473_) {
@@ -120,67 +156,78 @@ public class IOWorker implements ChunkScanAccess, AutoCloseable {
    }
 
    public CompletableFuture<Void> store(ChunkPos p_63539_, @Nullable CompoundTag p_63540_) {
-      return this.submitTask(() -> {
-         IOWorker.PendingStore ioworker$pendingstore = this.pendingWrites.computeIfAbsent(p_63539_, (p_223488_) -> {
+      IOWorker.Shard ioworker$shard = this.getShard(p_63539_);
+      return ioworker$shard.submitTask(() -> {
+         IOWorker.PendingStore ioworker$pendingstore = ioworker$shard.pendingWrites.computeIfAbsent(p_63539_, (p_223488_) -> {
             return new IOWorker.PendingStore(p_63540_);
          });
-         ioworker$pendingstore.data = p_63540_;
+         ioworker$pendingstore.setData(p_63540_);
+         return Either.left(ioworker$pendingstore.result);
+      }).thenCompose(Function.identity());
+   }
+
+   public CompletableFuture<Void> storeDeferred(ChunkPos p_295133_, Supplier<CompoundTag> p_295134_) {
+      IOWorker.Shard ioworker$shard = this.getShard(p_295133_);
+      return ioworker$shard.submitTask(() -> {
+         IOWorker.PendingStore ioworker$pendingstore = ioworker$shard.pendingWrites.computeIfAbsent(p_295133_, (p_295135_) -> {
+            return new IOWorker.PendingStore((CompoundTag)null);
+         });
+         ioworker$pendingstore.setDeferredData(p_295134_);
          return Either.left(ioworker$pendingstore.result);
       }).thenCompose(Function.identity());
    }
 
    public CompletableFuture<Optional<CompoundTag>> loadAsync(ChunkPos p_156588_) {
-      return this.submitTask(() -> {
-         IOWorker.PendingStore ioworker$pendingstore = this.pendingWrites.get(p_156588_);
-         if (ioworker$pendingstore != null) {
-            return Either.left(Optional.ofNullable(ioworker$pendingstore.data));
-         } else {
-            try {
-               CompoundTag compoundtag = this.storage.read(p_156588_);
-               return Either.left(Optional.ofNullable(compoundtag));
-            } catch (Exception exception) {
-               LOGGER.warn("Failed to read chunk {}", p_156588_, exception);
-               return Either.right(exception);
+      IOWorker.Shard ioworker$shard = this.getShard(p_156588_);
+      long i = Util.getNanos();
+      return ioworker$shard.<CompletableFuture<Optional<CompoundTag>>>submitTask(() -> {
+         IOWorker.PendingStore ioworker$pendingstore = ioworker$shard.pendingWrites.get(p_156588_);
+
+         try {
+            if (ioworker$pendingstore != null) {
+               return Either.left(CompletableFuture.completedFuture(Optional.ofNullable(ioworker$pendingstore.getData())));
+            } else {
+               DataInputStream datainputstream = ioworker$shard.storage.getChunkDataInputStream(p_156588_);
+               return Either.left(datainputstream == null ? CompletableFuture.completedFuture(Optional.empty()) : CompletableFuture.supplyAsync(() -> {
+                  try (DataInputStream datainputstream1 = datainputstream) {
+                     return Optional.of(NbtIo.read(datainputstream1));
+                  } catch (IOException ioexception) {
+                     LOGGER.warn("Failed to read chunk {}", p_156588_, ioexception);
+                     throw new CompletionException(ioexception);
+                  }
+               }, Util.backgroundExecutor()));
             }
+         } catch (Exception exception) {
+            LOGGER.warn("Failed to read chunk {}", p_156588_, exception);
+            return Either.right(exception);
          }
+      }).thenCompose(Function.identity()).whenComplete((p_295112_, p_295113_) -> {
+         this.loadLatency.record(Util.getNanos() - i);
       });
    }
 
    public CompletableFuture<Void> synchronize(boolean p_182499_) {
-      CompletableFuture<Void> completablefuture = this.submitTask(() -> {
-         return Either.left(CompletableFuture.allOf(this.pendingWrites.values().stream().map((p_223475_) -> {
-            return p_223475_.result;
-         }).toArray((p_223462_) -> {
-            return new CompletableFuture[p_223462_];
-         })));
-      }).thenCompose(Function.identity());
-      return p_182499_ ? completablefuture.thenCompose((p_182494_) -> {
-         return this.submitTask(() -> {
-            try {
-               this.storage.flush();
-               return Either.left((Void)null);
-            } catch (Exception exception) {
-               LOGGER.warn("Failed to synchronize chunks", (Throwable)exception);
-               return Either.right(exception);
-            }
-         });
-      }) : completablefuture.thenCompose((p_223477_) -> {
-         return this.submitTask(() -> {
-            return Either.left((Void)null);
-         });
-      });
+      CompletableFuture<?>[] completablefuture = new CompletableFuture[this.shards.length];
+
+      for(int i = 0; i < this.shards.length; ++i) {
+         completablefuture[i] = this.shards[i].synchronize(p_182499_);
+      }
+
+      return CompletableFuture.allOf(completablefuture);
    }
 
    public CompletableFuture<Void> scanChunk(ChunkPos p_196939_, StreamTagVisitor p_196940_) {
-      return this.submitTask(() -> {
+      IOWorker.Shard ioworker$shard = this.getShard(p_196939_);
+      return ioworker$shard.submitTask(() -> {
          try {
-            IOWorker.PendingStore ioworker$pendingstore = this.pendingWrites.get(p_196939_);
+            IOWorker.PendingStore ioworker$pendingstore = ioworker$shard.pendingWrites.get(p_196939_);
             if (ioworker$pendingstore != null) {
-               if (ioworker$pendingstore.data != null) {
-                  ioworker$pendingstore.data.acceptAsRoot(p_196940_);
+               CompoundTag compoundtag = ioworker$pendingstore.getData();
+               if (compoundtag != null) {
+                  compoundtag.acceptAsRoot(p_196940_);
                }
             } else {
-               this.storage.scanChunk(p_196939_, p_196940_);
+               ioworker$shard.storage.scanChunk(p_196939_, p_196940_);
             }
 
             return Either.left((Void)null);
@@ -191,69 +238,75 @@ public class IOWorker implements ChunkScanAccess, AutoCloseable {
       });
    }
 
-   private <T> CompletableFuture<T> submitTask(Supplier<Either<T, Exception>> p_63546_) {
-      return this.mailbox.askEither((p_223483_) -> {
-         return new StrictQueue.IntRunnable(IOWorker.Priority.FOREGROUND.ordinal(), () -> {
-            if (!this.shutdownRequested.get()) {
-               p_223483_.tell(p_63546_.get());
-            }
-
-            this.tellStorePending();
-         });
-      });
-   }
+   public void close() throws IOException {
+      if (this.shutdownRequested.compareAndSet(false, true)) {
+         for(IOWorker.Shard ioworker$shard : this.shards) {
+            ioworker$shard.close();
+         }
 
-   private void storePendingChunk() {
-      if (!this.pendingWrites.isEmpty()) {
-         Iterator<Map.Entry<ChunkPos, IOWorker.PendingStore>> iterator = this.pendingWrites.entrySet().iterator();
-         Map.Entry<ChunkPos, IOWorker.PendingStore> entry = iterator.next();
-         iterator.remove();
-         this.runStore(entry.getKey(), entry.getValue());
-         this.tellStorePending();
       }
    }
 
-   private void tellStorePending() {
-      this.mailbox.tell(new StrictQueue.IntRunnable(IOWorker.Priority.BACKGROUND.ordinal(), this::storePendingChunk));
-   }
+   public int getPendingWriteCount() {
+      int i = 0;
 
-   private void runStore(ChunkPos p_63536_, IOWorker.PendingStore p_63537_) {
-      try {
-         this.storage.write(p_63536_, p_63537_.data);
-         p_63537_.result.complete((Void)null);
-      } catch (Exception exception) {
-         LOGGER.error("Failed to store chunk {}", p_63536_, exception);
-         p_63537_.result.completeExceptionally(exception);
+      for(IOWorker.Shard ioworker$shard : this.shards) {
+         i += ioworker$shard.pendingWrites.size();
       }
 
+      return i;
    }
 
-   public void close() throws IOException {
-      if (this.shutdownRequested.compareAndSet(false, true)) {
-         this.mailbox.ask((p_223467_) -> {
-            return new StrictQueue.IntRunnable(IOWorker.Priority.SHUTDOWN.ordinal(), () -> {
-               p_223467_.tell(Unit.INSTANCE);
-            });
-         }).join();
-         this.mailbox.close();
-
-         try {
-            this.storage.close();
-         } catch (Exception exception) {
-            LOGGER.error("Failed to close storage", (Throwable)exception);
-         }
+   public int getQueueSize() {
+      int i = 0;
 
+      for(IOWorker.Shard ioworker$shard : this.shards) {
+         i += ioworker$shard.mailbox.size();
       }
+
+      return i;
+   }
+
+   public List<MetricSampler> profiledMetrics() {
+      ImmutableList.Builder<MetricSampler> builder = ImmutableList.builder();
+      builder.add(MetricSampler.create("IOWorker-" + this.name + "-queue-depth", MetricCategory.CHUNK_IO, this::getQueueSize));
+      builder.add(MetricSampler.create("IOWorker-" + this.name + "-pending-writes", MetricCategory.CHUNK_IO, this::getPendingWriteCount));
+      builder.addAll(this.loadLatency.samplers("IOWorker-" + this.name + "-load-latency", MetricCategory.CHUNK_IO));
+      builder.addAll(this.storeLatency.samplers("IOWorker-" + this.name + "-store-latency", MetricCategory.CHUNK_IO));
+      return builder.build();
    }
 
    static class PendingStore {
       @Nullable
-      CompoundTag data;
+      private CompoundTag data;
+      @Nullable
+      private Supplier<CompoundTag> deferredData;
       final CompletableFuture<Void> result = new CompletableFuture<>();
+      final long createdAt = Util.getNanos();
 
       public PendingStore(@Nullable CompoundTag p_63568_) {
          this.data = p_63568_;
       }
+
+      void setData(@Nullable CompoundTag p_295136_) {
+         this.data = p_295136_;
+         this.deferredData = null;
+      }
+
+      void setDeferredData(Supplier<CompoundTag> p_295137_) {
+         this.data = null;
+         this.deferredData = p_295137_;
+      }
+
+      @Nullable
+      CompoundTag getData() {
+         if (this.deferredData != null) {
+            this.data = this.deferredData.get();
+            this.deferredData = null;
+         }
+
+         return this.data;
+      }
    }
 
    static enum Priority {
@@ -261,4 +314,94 @@ public class IOWorker implements ChunkScanAccess, AutoCloseable {
       BACKGROUND,
       SHUTDOWN;
    }
-}
\ No newline at end of file
+
+   class Shard {
+      final ProcessorMailbox<StrictQueue.IntRunnable> mailbox;
+      final RegionFileStorage storage;
+      final Map<ChunkPos, IOWorker.PendingStore> pendingWrites = Maps.newLinkedHashMap();
+
+      Shard(RegionFileStorage p_295114_, ProcessorMailbox<StrictQueue.IntRunnable> p_295115_) {
+         this.storage = p_295114_;
+         this.mailbox = p_295115_;
+      }
+
+      CompletableFuture<Void> synchronize(boolean p_295116_) {
+         CompletableFuture<Void> completablefuture = this.submitTask(() -> {
+            return Either.left(CompletableFuture.allOf(this.pendingWrites.values().stream().map((p_223475_) -> {
+               return p_223475_.result;
+            }).toArray((p_223462_) -> {
+               return new CompletableFuture[p_223462_];
+            })));
+         }).thenCompose(Function.identity());
+         return p_295116_ ? completablefuture.thenCompose((p_182494_) -> {
+            return this.submitTask(() -> {
+               try {
+                  this.storage.flush();
+                  return Either.left((Void)null);
+               } catch (Exception exception) {
+                  IOWorker.LOGGER.warn("Failed to synchronize chunks", (Throwable)exception);
+                  return Either.right(exception);
+               }
+            });
+         }) : completablefuture.thenCompose((p_223477_) -> {
+            return this.submitTask(() -> {
+               return Either.left((Void)null);
+            });
+         });
+      }
+
+      <T> CompletableFuture<T> submitTask(Supplier<Either<T, Exception>> p_63546_) {
+         return this.mailbox.askEither((p_223483_) -> {
+            return new StrictQueue.IntRunnable(IOWorker.Priority.FOREGROUND.ordinal(), () -> {
+               if (!IOWorker.this.shutdownRequested.get()) {
+                  p_223483_.tell(p_63546_.get());
+               }
+
+               this.tellStorePending();
+            });
+         });
+      }
+
+      private void storePendingChunk() {
+         if (!this.pendingWrites.isEmpty()) {
+            Iterator<Map.Entry<ChunkPos, IOWorker.PendingStore>> iterator = this.pendingWrites.entrySet().iterator();
+            Map.Entry<ChunkPos, IOWorker.PendingStore> entry = iterator.next();
+            iterator.remove();
+            this.runStore(entry.getKey(), entry.getValue());
+            this.tellStorePending();
+         }
+      }
+
+      private void tellStorePending() {
+         this.mailbox.tell(new StrictQueue.IntRunnable(IOWorker.Priority.BACKGROUND.ordinal(), this::storePendingChunk));
+      }
+
+      private void runStore(ChunkPos p_63536_, IOWorker.PendingStore p_63537_) {
+         try {
+            this.storage.write(p_63536_, p_63537_.getData());
+            p_63537_.result.complete((Void)null);
+         } catch (Exception exception) {
+            IOWorker.LOGGER.error("Failed to store chunk {}", p_63536_, exception);
+            p_63537_.result.completeExceptionally(exception);
+         }
+
+         IOWorker.this.storeLatency.record(Util.getNanos() - p_63537_.createdAt);
+      }
+
+      void close() {
+         this.mailbox.ask((p_223467_) -> {
+            return new StrictQueue.IntRunnable(IOWorker.Priority.SHUTDOWN.ordinal(), () -> {
+               p_223467_.tell(Unit.INSTANCE);
+            });
+         }).join();
+         this.mailbox.close();
+
+         try {
+            this.storage.close();
+         } catch (Exception exception) {
+            IOWorker.LOGGER.error("Failed to close storage", (Throwable)exception);
+         }
+
+      }
+   }
+}
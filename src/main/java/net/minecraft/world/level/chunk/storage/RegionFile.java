@@ -173,6 +173,7 @@ public class RegionFile implements AutoCloseable {
          LOGGER.error("External chunk path {} is not file", (Object)path);
          return null;
       } else {
+         // Opened here but read by IOWorker's background decode, so on Windows a later write of this chunk cannot replace the file until the load finishes.
          return this.createChunkInputStream(p_63648_, p_63649_, Files.newInputStream(path));
       }
    }
@@ -253,13 +254,13 @@ public class RegionFile implements AutoCloseable {
       this.file.force(true);
    }
 
-   public void clear(ChunkPos p_156614_) throws IOException {
+   public synchronized void clear(ChunkPos p_156614_) throws IOException {
       int i = getOffsetIndex(p_156614_);
       int j = this.offsets.get(i);
       if (j != 0) {
          this.offsets.put(i, 0);
          this.timestamps.put(i, getTimestamp());
-         this.writeHeader();
+         this.writeHeaderEntry(i);
          Files.deleteIfExists(this.getExternalChunkPath(p_156614_));
          this.usedSectors.free(getSectorNumber(j), getNumSectors(j));
       }
@@ -292,7 +293,7 @@ public class RegionFile implements AutoCloseable {
 
       this.offsets.put(i, this.packSectorOffset(k1, j1));
       this.timestamps.put(i, getTimestamp());
-      this.writeHeader();
+      this.writeHeaderEntry(i);
       regionfile$commitop.run();
       if (k != 0) {
          this.usedSectors.free(k, l);
@@ -321,9 +322,9 @@ public class RegionFile implements AutoCloseable {
       };
    }
 
-   private void writeHeader() throws IOException {
-      this.header.position(0);
-      this.file.write(this.header, 0L);
+   private void writeHeaderEntry(int p_156618_) throws IOException {
+      this.file.write(this.header.slice(p_156618_ * 4, 4), (long)(p_156618_ * 4));
+      this.file.write(this.header.slice(4096 + p_156618_ * 4, 4), (long)(4096 + p_156618_ * 4));
    }
 
    private int getOffset(ChunkPos p_63687_) {
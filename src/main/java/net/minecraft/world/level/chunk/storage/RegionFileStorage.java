@@ -20,10 +20,14 @@ public final class RegionFileStorage implements AutoCloseable {
    private final Long2ObjectLinkedOpenHashMap<RegionFile> regionCache = new Long2ObjectLinkedOpenHashMap<>();
    private final Path folder;
    private final boolean sync;
-
-   RegionFileStorage(Path p_196954_, boolean p_196955_) {
-      this.folder = p_196954_;
-      this.sync = p_196955_;
+   private final int maxCacheSize;
+   private final RegionFileVersion version;
+
+   RegionFileStorage(Path p_295120_, boolean p_295121_, int p_295122_, RegionFileVersion p_295348_) {
+      this.folder = p_295120_;
+      this.sync = p_295121_;
+      this.maxCacheSize = p_295122_;
+      this.version = p_295348_;
    }
 
    private RegionFile getRegionFile(ChunkPos p_63712_) throws IOException {
@@ -32,23 +36,26 @@ public final class RegionFileStorage implements AutoCloseable {
       if (regionfile != null) {
          return regionfile;
       } else {
-         if (this.regionCache.size() >= 256) {
+         if (this.regionCache.size() >= this.maxCacheSize) {
             this.regionCache.removeLast().close();
          }
 
          FileUtil.createDirectoriesSafe(this.folder);
          Path path = this.folder.resolve("r." + p_63712_.getRegionX() + "." + p_63712_.getRegionZ() + ".mca");
-         RegionFile regionfile1 = new RegionFile(path, this.folder, this.sync);
+         RegionFile regionfile1 = new RegionFile(path, this.folder, this.version, this.sync);
          this.regionCache.putAndMoveToFirst(i, regionfile1);
          return regionfile1;
       }
    }
 
    @Nullable
-   public CompoundTag read(ChunkPos p_63707_) throws IOException {
-      RegionFile regionfile = this.getRegionFile(p_63707_);
+   public DataInputStream getChunkDataInputStream(ChunkPos p_295567_) throws IOException {
+      return this.getRegionFile(p_295567_).getChunkDataInputStream(p_295567_);
+   }
 
-      try (DataInputStream datainputstream = regionfile.getChunkDataInputStream(p_63707_)) {
+   @Nullable
+   public CompoundTag read(ChunkPos p_63707_) throws IOException {
+      try (DataInputStream datainputstream = this.getChunkDataInputStream(p_63707_)) {
          return datainputstream == null ? null : NbtIo.read(datainputstream);
       }
    }
@@ -1,48 +1,80 @@
 package net.minecraft.world.level.chunk.storage;
 
+import com.mojang.logging.LogUtils;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Locale;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.InflaterInputStream;
 import javax.annotation.Nullable;
 import net.minecraft.util.FastBufferedInputStream;
+import net.minecraft.util.Lz4BlockInputStream;
+import net.minecraft.util.Lz4BlockOutputStream;
+import org.slf4j.Logger;
 
 public class RegionFileVersion {
+   private static final Logger LOGGER = LogUtils.getLogger();
    private static final Int2ObjectMap<RegionFileVersion> VERSIONS = new Int2ObjectOpenHashMap<>();
-   public static final RegionFileVersion VERSION_GZIP = register(new RegionFileVersion(1, (p_63767_) -> {
+   private static final Object2ObjectMap<String, RegionFileVersion> VERSIONS_BY_NAME = new Object2ObjectLinkedOpenHashMap<>();
+   public static final RegionFileVersion VERSION_GZIP = register(1, (String)null, (p_63767_) -> {
       return new FastBufferedInputStream(new GZIPInputStream(p_63767_));
    }, (p_63769_) -> {
       return new BufferedOutputStream(new GZIPOutputStream(p_63769_));
-   }));
-   public static final RegionFileVersion VERSION_DEFLATE = register(new RegionFileVersion(2, (p_196964_) -> {
+   });
+   public static final RegionFileVersion VERSION_DEFLATE = register(2, "deflate", (p_196964_) -> {
       return new FastBufferedInputStream(new InflaterInputStream(p_196964_));
    }, (p_196966_) -> {
       return new BufferedOutputStream(new DeflaterOutputStream(p_196966_));
-   }));
-   public static final RegionFileVersion VERSION_NONE = register(new RegionFileVersion(3, (p_196960_) -> {
+   });
+   public static final RegionFileVersion VERSION_NONE = register(3, "none", (p_196960_) -> {
       return p_196960_;
    }, (p_196962_) -> {
       return p_196962_;
-   }));
+   });
+   public static final RegionFileVersion VERSION_LZ4 = register(4, "lz4", (p_196968_) -> {
+      return new Lz4BlockInputStream(p_196968_);
+   }, (p_196970_) -> {
+      return new Lz4BlockOutputStream(p_196970_);
+   });
+   public static final RegionFileVersion DEFAULT = VERSION_DEFLATE;
    private final int id;
+   @Nullable
+   private final String name;
    private final RegionFileVersion.StreamWrapper<InputStream> inputWrapper;
    private final RegionFileVersion.StreamWrapper<OutputStream> outputWrapper;
 
-   private RegionFileVersion(int p_63752_, RegionFileVersion.StreamWrapper<InputStream> p_63753_, RegionFileVersion.StreamWrapper<OutputStream> p_63754_) {
+   private RegionFileVersion(int p_63752_, @Nullable String p_63753_, RegionFileVersion.StreamWrapper<InputStream> p_63754_, RegionFileVersion.StreamWrapper<OutputStream> p_63755_) {
       this.id = p_63752_;
-      this.inputWrapper = p_63753_;
-      this.outputWrapper = p_63754_;
+      this.name = p_63753_;
+      this.inputWrapper = p_63754_;
+      this.outputWrapper = p_63755_;
    }
 
-   private static RegionFileVersion register(RegionFileVersion p_63759_) {
-      VERSIONS.put(p_63759_.id, p_63759_);
-      return p_63759_;
+   public static synchronized RegionFileVersion register(int p_63759_, @Nullable String p_63760_, RegionFileVersion.StreamWrapper<InputStream> p_63761_, RegionFileVersion.StreamWrapper<OutputStream> p_63762_) {
+      String s = p_63760_ != null ? p_63760_.toLowerCase(Locale.ROOT) : null;
+      if (p_63759_ <= 0 || p_63759_ > 127) {
+         throw new IllegalArgumentException("Region file version id must be in [1, 127], got " + p_63759_);
+      } else if (VERSIONS.containsKey(p_63759_)) {
+         throw new IllegalArgumentException("Duplicate region file version id " + p_63759_);
+      } else if (s != null && VERSIONS_BY_NAME.containsKey(s)) {
+         throw new IllegalArgumentException("Duplicate region file version name " + s);
+      } else {
+         RegionFileVersion regionfileversion = new RegionFileVersion(p_63759_, s, p_63761_, p_63762_);
+         VERSIONS.put(p_63759_, regionfileversion);
+         if (s != null) {
+            VERSIONS_BY_NAME.put(s, regionfileversion);
+         }
+
+         return regionfileversion;
+      }
    }
 
    @Nullable
@@ -50,14 +82,34 @@ public class RegionFileVersion {
       return VERSIONS.get(p_63757_);
    }
 
+   @Nullable
+   public static RegionFileVersion fromName(String p_63773_) {
+      return VERSIONS_BY_NAME.get(p_63773_.toLowerCase(Locale.ROOT));
+   }
+
    public static boolean isValidVersion(int p_63765_) {
       return VERSIONS.containsKey(p_63765_);
    }
 
+   public static RegionFileVersion fromNameOrDefault(String p_63775_) {
+      RegionFileVersion regionfileversion = fromName(p_63775_);
+      if (regionfileversion == null) {
+         LOGGER.error("Invalid region file compression '{}', expected one of: {}", p_63775_, String.join(", ", VERSIONS_BY_NAME.keySet()));
+         return DEFAULT;
+      } else {
+         return regionfileversion;
+      }
+   }
+
    public int getId() {
       return this.id;
    }
 
+   @Nullable
+   public String getName() {
+      return this.name;
+   }
+
    public OutputStream wrap(OutputStream p_63763_) throws IOException {
       return this.outputWrapper.wrap(p_63763_);
    }
@@ -67,7 +119,7 @@ public class RegionFileVersion {
    }
 
    @FunctionalInterface
-   interface StreamWrapper<O> {
+   public interface StreamWrapper<O> {
       O wrap(O p_63771_) throws IOException;
    }
-}
\ No newline at end of file
+}
@@ -47,14 +47,14 @@ public class SectionStorage<R> implements AutoCloseable {
    private final RegistryAccess registryAccess;
    protected final LevelHeightAccessor levelHeightAccessor;
 
-   public SectionStorage(Path p_223509_, Function<Runnable, Codec<R>> p_223510_, Function<Runnable, R> p_223511_, DataFixer p_223512_, DataFixTypes p_223513_, boolean p_223514_, RegistryAccess p_223515_, LevelHeightAccessor p_223516_) {
+   public SectionStorage(Path p_223509_, Function<Runnable, Codec<R>> p_223510_, Function<Runnable, R> p_223511_, DataFixer p_223512_, DataFixTypes p_223513_, boolean p_223514_, RegistryAccess p_223515_, LevelHeightAccessor p_223516_, RegionFileVersion p_295355_, int p_295572_) {
       this.codec = p_223510_;
       this.factory = p_223511_;
       this.fixerUpper = p_223512_;
       this.type = p_223513_;
       this.registryAccess = p_223515_;
       this.levelHeightAccessor = p_223516_;
-      this.worker = new IOWorker(p_223509_, p_223514_, p_223509_.getFileName().toString());
+      this.worker = new IOWorker(p_223509_, p_223514_, p_223509_.getFileName().toString(), p_295355_, p_295572_);
    }
 
    protected void tick(BooleanSupplier p_63812_) {
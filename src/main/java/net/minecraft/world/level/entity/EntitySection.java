@@ -12,19 +12,37 @@ import org.slf4j.Logger;
 public class EntitySection<T extends EntityAccess> {
    private static final Logger LOGGER = LogUtils.getLogger();
    private final ClassInstanceMultiMap<T> storage;
+   private final EntitySectionStorage<T> sectionStorage;
    private Visibility chunkStatus;
+   private long changeStamp;
 
-   public EntitySection(Class<T> p_156831_, Visibility p_156832_) {
+   public EntitySection(Class<T> p_156831_, Visibility p_156832_, EntitySectionStorage<T> p_295400_) {
       this.chunkStatus = p_156832_;
       this.storage = new ClassInstanceMultiMap<>(p_156831_);
+      this.sectionStorage = p_295400_;
+      this.changeStamp = p_295400_.nextChangeStamp();
    }
 
    public void add(T p_188347_) {
       this.storage.add(p_188347_);
+      this.markChanged();
    }
 
    public boolean remove(T p_188356_) {
-      return this.storage.remove(p_188356_);
+      if (this.storage.remove(p_188356_)) {
+         this.markChanged();
+         return true;
+      } else {
+         return false;
+      }
+   }
+
+   public void markChanged() {
+      this.changeStamp = this.sectionStorage.nextChangeStamp();
+   }
+
+   public long getChangeStamp() {
+      return this.changeStamp;
    }
 
    public AbortableIterationConsumer.Continuation getEntities(AABB p_262016_, AbortableIterationConsumer<T> p_261863_) {
@@ -68,6 +86,7 @@ public class EntitySection<T extends EntityAccess> {
    public Visibility updateChunkStatus(Visibility p_156839_) {
       Visibility visibility = this.chunkStatus;
       this.chunkStatus = p_156839_;
+      this.markChanged();
       return visibility;
    }
 
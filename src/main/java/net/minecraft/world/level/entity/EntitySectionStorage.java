@@ -26,6 +26,7 @@ public class EntitySectionStorage<T extends EntityAccess> {
    private final Long2ObjectFunction<Visibility> intialSectionVisibility;
    private final Long2ObjectMap<EntitySection<T>> sections = new Long2ObjectOpenHashMap<>();
    private final LongSortedSet sectionIds = new LongAVLTreeSet();
+   private long changeCount;
 
    public EntitySectionStorage(Class<T> p_156855_, Long2ObjectFunction<Visibility> p_156856_) {
       this.entityClass = p_156855_;
@@ -61,6 +62,50 @@ public class EntitySectionStorage<T extends EntityAccess> {
 
    }
 
+   public long getChangeStamp(AABB p_295401_) {
+      int i = SectionPos.posToSectionCoord(p_295401_.minX - 2.0D);
+      int j = SectionPos.posToSectionCoord(p_295401_.minY - 4.0D);
+      int k = SectionPos.posToSectionCoord(p_295401_.minZ - 2.0D);
+      int l = SectionPos.posToSectionCoord(p_295401_.maxX + 2.0D);
+      int i1 = SectionPos.posToSectionCoord(p_295401_.maxY + 0.0D);
+      int j1 = SectionPos.posToSectionCoord(p_295401_.maxZ + 2.0D);
+      long k1 = 0L;
+      if ((long)(l - i + 1) * (long)(i1 - j + 1) * (long)(j1 - k + 1) <= 64L) {
+         for(int l1 = i; l1 <= l; ++l1) {
+            for(int i2 = j; i2 <= i1; ++i2) {
+               for(int j2 = k; j2 <= j1; ++j2) {
+                  EntitySection<T> entitysection = this.sections.get(SectionPos.asLong(l1, i2, j2));
+                  if (entitysection != null) {
+                     k1 = Math.max(k1, entitysection.getChangeStamp());
+                  }
+               }
+            }
+         }
+      } else {
+         for(int k2 = i; k2 <= l; ++k2) {
+            LongIterator longiterator = this.sectionIds.subSet(SectionPos.asLong(k2, 0, 0), SectionPos.asLong(k2, -1, -1) + 1L).iterator();
+
+            while(longiterator.hasNext()) {
+               long l2 = longiterator.nextLong();
+               int i3 = SectionPos.y(l2);
+               int j3 = SectionPos.z(l2);
+               if (i3 >= j && i3 <= i1 && j3 >= k && j3 <= j1) {
+                  EntitySection<T> entitysection1 = this.sections.get(l2);
+                  if (entitysection1 != null) {
+                     k1 = Math.max(k1, entitysection1.getChangeStamp());
+                  }
+               }
+            }
+         }
+      }
+
+      return k1;
+   }
+
+   long nextChangeStamp() {
+      return ++this.changeCount;
+   }
+
    public LongStream getExistingSectionPositionsInChunk(long p_156862_) {
       int i = ChunkPos.getX(p_156862_);
       int j = ChunkPos.getZ(p_156862_);
@@ -100,7 +145,7 @@ public class EntitySectionStorage<T extends EntityAccess> {
       long i = getChunkKeyFromSectionKey(p_156902_);
       Visibility visibility = this.intialSectionVisibility.get(i);
       this.sectionIds.add(p_156902_);
-      return new EntitySection<>(this.entityClass, visibility);
+      return new EntitySection<>(this.entityClass, visibility, this);
    }
 
    public LongSet getAllChunksWithExistingSections() {
@@ -20,4 +20,6 @@ public interface LevelEntityGetter<T extends EntityAccess> {
    void get(AABB p_156937_, Consumer<T> p_156938_);
 
    <U extends T> void get(EntityTypeTest<T, U> p_156932_, AABB p_156933_, AbortableIterationConsumer<U> p_261542_);
+
+   long getChangeStamp(AABB p_295398_);
 }
\ No newline at end of file
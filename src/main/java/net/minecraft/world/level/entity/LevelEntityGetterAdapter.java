@@ -40,4 +40,8 @@ public class LevelEntityGetterAdapter<T extends EntityAccess> implements LevelEn
    public <U extends T> void get(EntityTypeTest<T, U> p_261696_, AABB p_261693_, AbortableIterationConsumer<U> p_261719_) {
       this.sectionStorage.getEntities(p_261696_, p_261693_, p_261719_);
    }
+
+   public long getChangeStamp(AABB p_295399_) {
+      return this.sectionStorage.getChangeStamp(p_295399_);
+   }
 }
\ No newline at end of file
@@ -373,6 +373,8 @@ public class PersistentEntitySectionManager<T extends EntityAccess> implements A
             this.currentSection = entitysection;
             this.currentSectionKey = i;
             this.updateStatus(visibility, entitysection.getStatus());
+         } else {
+            this.currentSection.markChanged();
          }
 
       }
@@ -125,6 +125,8 @@ public class TransientEntitySectionManager<T extends EntityAccess> {
                   TransientEntitySectionManager.this.callbacks.onTickingStart(this.entity);
                }
             }
+         } else {
+            this.currentSection.markChanged();
          }
 
       }
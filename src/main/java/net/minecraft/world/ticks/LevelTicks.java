@@ -1,10 +1,15 @@
 package net.minecraft.world.ticks;
 
 import it.unimi.dsi.fastutil.longs.Long2LongMap;
-import it.unimi.dsi.fastutil.longs.Long2LongMaps;
 import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
 import java.util.ArrayDeque;
@@ -37,6 +42,9 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
    private final Long2LongMap nextTickForContainer = Util.make(new Long2LongOpenHashMap(), (p_193262_) -> {
       p_193262_.defaultReturnValue(Long.MAX_VALUE);
    });
+   private final Long2ObjectMap<LongList> containersByTriggerTick = new Long2ObjectOpenHashMap<>();
+   private final LongSet dueContainers = new LongOpenHashSet();
+   private long lastCollectedTick = Long.MIN_VALUE;
    private final Queue<LevelChunkTicks<T>> containersToTick = new PriorityQueue<>(CONTAINER_DRAIN_ORDER);
    private final Queue<ScheduledTick<T>> toRunThisTick = new ArrayDeque<>();
    private final List<ScheduledTick<T>> alreadyRunThisTick = new ArrayList<>();
@@ -58,7 +66,7 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
       this.allContainers.put(i, p_193233_);
       ScheduledTick<T> scheduledtick = p_193233_.peek();
       if (scheduledtick != null) {
-         this.nextTickForContainer.put(i, scheduledtick.triggerTick());
+         this.setNextTickForContainer(i, scheduledtick.triggerTick());
       }
 
       p_193233_.setOnTickAdded(this.chunkScheduleUpdater);
@@ -104,24 +112,34 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
    }
 
    private void sortContainersToTick(long p_193217_) {
-      ObjectIterator<Long2LongMap.Entry> objectiterator = Long2LongMaps.fastIterator(this.nextTickForContainer);
-
-      while(objectiterator.hasNext()) {
-         Long2LongMap.Entry entry = objectiterator.next();
-         long i = entry.getLongKey();
-         long j = entry.getLongValue();
-         if (j <= p_193217_) {
+      this.collectDueContainers(p_193217_);
+      LongIterator longiterator = this.dueContainers.iterator();
+
+      while(longiterator.hasNext()) {
+         long i = longiterator.nextLong();
+         long j = this.nextTickForContainer.get(i);
+         if (j == Long.MAX_VALUE) {
+            longiterator.remove();
+         } else if (j > p_193217_) {
+            longiterator.remove();
+            this.addToCalendar(i, j);
+         } else {
             LevelChunkTicks<T> levelchunkticks = this.allContainers.get(i);
             if (levelchunkticks == null) {
-               objectiterator.remove();
+               longiterator.remove();
+               this.nextTickForContainer.remove(i);
             } else {
                ScheduledTick<T> scheduledtick = levelchunkticks.peek();
                if (scheduledtick == null) {
-                  objectiterator.remove();
+                  longiterator.remove();
+                  this.nextTickForContainer.remove(i);
                } else if (scheduledtick.triggerTick() > p_193217_) {
-                  entry.setValue(scheduledtick.triggerTick());
+                  longiterator.remove();
+                  this.nextTickForContainer.put(i, scheduledtick.triggerTick());
+                  this.addToCalendar(i, scheduledtick.triggerTick());
                } else if (this.tickCheck.test(i)) {
-                  objectiterator.remove();
+                  longiterator.remove();
+                  this.nextTickForContainer.remove(i);
                   this.containersToTick.add(levelchunkticks);
                }
             }
@@ -130,6 +148,57 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
 
    }
 
+   private void collectDueContainers(long p_295316_) {
+      long i = this.lastCollectedTick;
+      this.lastCollectedTick = p_295316_;
+      if (i != Long.MIN_VALUE && p_295316_ >= i && p_295316_ - i <= (long)this.containersByTriggerTick.size()) {
+         for(long j = i + 1L; j <= p_295316_; ++j) {
+            LongList longlist = this.containersByTriggerTick.remove(j);
+            if (longlist != null) {
+               this.moveToDue(j, longlist);
+            }
+         }
+      } else {
+         ObjectIterator<Long2ObjectMap.Entry<LongList>> objectiterator = Long2ObjectMaps.fastIterator(this.containersByTriggerTick);
+
+         while(objectiterator.hasNext()) {
+            Long2ObjectMap.Entry<LongList> entry = objectiterator.next();
+            if (entry.getLongKey() <= p_295316_) {
+               this.moveToDue(entry.getLongKey(), entry.getValue());
+               objectiterator.remove();
+            }
+         }
+      }
+
+   }
+
+   private void moveToDue(long p_295317_, LongList p_295318_) {
+      for(int i = 0; i < p_295318_.size(); ++i) {
+         long j = p_295318_.getLong(i);
+         if (this.nextTickForContainer.get(j) == p_295317_) {
+            this.dueContainers.add(j);
+         }
+      }
+
+   }
+
+   private void setNextTickForContainer(long p_295319_, long p_295320_) {
+      if (this.nextTickForContainer.put(p_295319_, p_295320_) != p_295320_) {
+         if (p_295320_ <= this.lastCollectedTick) {
+            this.dueContainers.add(p_295319_);
+         } else {
+            this.addToCalendar(p_295319_, p_295320_);
+         }
+      }
+
+   }
+
+   private void addToCalendar(long p_295321_, long p_295322_) {
+      this.containersByTriggerTick.computeIfAbsent(p_295322_, (p_295323_) -> {
+         return new LongArrayList();
+      }).add(p_295321_);
+   }
+
    private void drainContainers(long p_193219_, int p_193220_) {
       LevelChunkTicks<T> levelchunkticks;
       while(this.canScheduleMoreTicks(p_193220_) && (levelchunkticks = this.containersToTick.poll()) != null) {
@@ -156,7 +225,7 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
    }
 
    private void updateContainerScheduling(ScheduledTick<T> p_193280_) {
-      this.nextTickForContainer.put(ChunkPos.asLong(p_193280_.pos()), p_193280_.triggerTick());
+      this.setNextTickForContainer(ChunkPos.asLong(p_193280_.pos()), p_193280_.triggerTick());
    }
 
    private void drainFromCurrentContainer(Queue<LevelChunkTicks<T>> p_193268_, LevelChunkTicks<T> p_193269_, long p_193270_, int p_193271_) {